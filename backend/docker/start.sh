@@ -0,0 +1,14 @@
+#!/bin/sh
+# Container entrypoint. Uses the CDS archive produced by "mvn -Pcds package" when it is present;
+# -Xshare:auto falls back to a normal start if the archive doesn't match the JVM or class path.
+set -e
+
+APP_DIR=${APP_DIR:-/app}
+ARCHIVE="$APP_DIR/application.jsa"
+
+if [ -f "$ARCHIVE" ] && [ "${CDS_ENABLED:-true}" = "true" ]; then
+  set -- -XX:SharedArchiveFile="$ARCHIVE" -Xshare:auto "$@"
+fi
+
+cd "$APP_DIR"
+exec java $JAVA_OPTS "$@" -jar backend-0.0.1-SNAPSHOT.jar
@@ -0,0 +1,50 @@
+#!/usr/bin/env bash
+# Reports time from JVM launch to the first successful GET /api/movies/daily, with and without the application CDS archive.
+#
+#   mvn -Pcds -DskipTests package   -> target/cds/backend-0.0.1-SNAPSHOT.jar + target/cds/application.jsa
+#
+# Usage: scripts/cds-benchmark.sh [runs]
+# Needs MONGODB_URI, TMDB_API_KEY, NETZKINO_ENV, OAUTH_GITHUB_ID and OAUTH_GITHUB_SECRET in the environment.
+# Point MONGODB_URI at a database that already has today's daily movies so upstream latency doesn't dominate.
+
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${PORT:-8098}
+CDS_DIR="$(cd "$(dirname "$0")/.." && pwd)/target/cds"
+DAILY_URL="http://localhost:$PORT/api/movies/daily"
+
+if [[ ! -f "$CDS_DIR/application.jsa" ]]; then
+  echo "No archive in $CDS_DIR, run 'mvn -Pcds -DskipTests package' first." >&2
+  exit 1
+fi
+
+now_ms() { date +%s%3N; }
+
+measure() {
+  local label=$1; shift
+  local total=0
+  for ((i = 1; i <= RUNS; i++)); do
+    local start pid elapsed
+    start=$(now_ms)
+    (cd "$CDS_DIR" && exec java "$@" -jar backend-0.0.1-SNAPSHOT.jar \
+        --server.port="$PORT" --cache.snapshot.enabled=false > /dev/null 2>&1) &
+    pid=$!
+    until curl -sf "$DAILY_URL" > /dev/null 2>&1; do
+      if ! kill -0 "$pid" 2> /dev/null; then
+        echo "$label: process exited before /api/movies/daily succeeded" >&2
+        return 1
+      fi
+      sleep 0.02
+    done
+    elapsed=$(($(now_ms) - start))
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    total=$((total + elapsed))
+    printf '%-8s run %d: %6d ms\n' "$label" "$i" "$elapsed"
+  done
+  printf '%-8s avg  : %6d ms\n\n' "$label" $((total / RUNS))
+}
+
+measure "no-cds"
+measure "cds" -XX:SharedArchiveFile=application.jsa -Xshare:auto
@@ -0,0 +1,62 @@
+#!/usr/bin/env bash
+# Compares startup time and resident memory of the JVM jar, the AOT-processed jar and the native image.
+#
+#   mvn -DskipTests package                  -> target/backend-0.0.1-SNAPSHOT.jar (JVM)
+#   mvn -Pnative -DskipTests package         -> AOT-processed jar, run with -Dspring.aot.enabled=true
+#   mvn -Pnative -DskipTests native:compile  -> target/backend (native)
+#
+# Usage: scripts/startup-benchmark.sh [runs]
+# Needs MONGODB_URI, TMDB_API_KEY, NETZKINO_ENV, OAUTH_GITHUB_ID and OAUTH_GITHUB_SECRET in the environment.
+# Startup is measured until /actuator/health/readiness reports UP, RSS is read right after that.
+
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${PORT:-8099}
+DIR="$(cd "$(dirname "$0")/.." && pwd)"
+JAR="$DIR/target/backend-0.0.1-SNAPSHOT.jar"
+NATIVE="$DIR/target/backend"
+READY_URL="http://localhost:$PORT/actuator/health/readiness"
+
+now_ms() { date +%s%3N; }
+
+measure() {
+  local label=$1; shift
+  local total_ms=0 total_rss=0
+  for ((i = 1; i <= RUNS; i++)); do
+    local start pid rss elapsed
+    start=$(now_ms)
+    "$@" --server.port="$PORT" --cache.snapshot.enabled=false > /dev/null 2>&1 &
+    pid=$!
+    until curl -sf "$READY_URL" > /dev/null 2>&1; do
+      if ! kill -0 "$pid" 2> /dev/null; then
+        echo "$label: process exited before becoming ready" >&2
+        return 1
+      fi
+      sleep 0.02
+    done
+    elapsed=$(($(now_ms) - start))
+    rss=$(awk '/VmRSS/ {print $2}' "/proc/$pid/status")
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    total_ms=$((total_ms + elapsed))
+    total_rss=$((total_rss + rss))
+    printf '%-10s run %d: %6d ms  %7d KiB RSS\n' "$label" "$i" "$elapsed" "$rss"
+  done
+  printf '%-10s avg  : %6d ms  %7d KiB RSS\n\n' "$label" $((total_ms / RUNS)) $((total_rss / RUNS))
+}
+
+if [[ -f "$JAR" ]]; then
+  measure "jvm" java -jar "$JAR"
+  if unzip -p "$JAR" META-INF/MANIFEST.MF | grep -q "Spring-Boot-Native-Processed"; then
+    measure "jvm-aot" java -Dspring.aot.enabled=true -jar "$JAR"
+  fi
+else
+  echo "Skipping JVM runs, $JAR not found." >&2
+fi
+
+if [[ -x "$NATIVE" ]]; then
+  measure "native" "$NATIVE"
+else
+  echo "Skipping native run, $NATIVE not found." >&2
+fi
@@ -1,16 +1,44 @@
 package org.example.backend.cache;
 
+import com.google.common.cache.CacheBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 @EnableCaching
 public class CacheConfig {
+
+    public static final String MOVIES = "movies";   // slug -> Movie, filled by detail page reads
+    public static final String DAILY = "daily";     // LocalDate -> List<Movie>
+    public static final String POSTERS = "posters"; // IMDb id -> TMDB image url
+    public static final String USERS = "users";     // githubId (principal name) -> User, bounded with a short TTL
+
     @Bean
-    public CacheManager cacheManager() {
-        return new ConcurrentMapCacheManager("movies");
+    public CacheManager cacheManager(@Value("${cache.users.max-size:10000}") long maxUsers,
+                                     @Value("${cache.users.ttl-seconds:300}") long userTtlSeconds) {
+        return new ConcurrentMapCacheManager(MOVIES, DAILY, POSTERS, USERS) {
+            @Override
+            protected Cache createConcurrentMapCache(String name) {
+                if (MOVIES.equals(name) || POSTERS.equals(name)) {
+                    return new UsageCountingCache(name); // snapshotted by use, see CacheSnapshotService
+                }
+                if (!USERS.equals(name)) {
+                    return super.createConcurrentMapCache(name);
+                }
+                return new ConcurrentMapCache(name, CacheBuilder.newBuilder()
+                        .maximumSize(maxUsers)
+                        .expireAfterWrite(userTtlSeconds, TimeUnit.SECONDS)
+                        .build()
+                        .asMap(), false);
+            }
+        };
     }
 }
@@ -0,0 +1,14 @@
+package org.example.backend.cache;
+
+import org.example.backend.model.Movie;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+public record CacheSnapshot(
+        LocalDate dailyDate,
+        List<Movie> dailyMovies,
+        List<Movie> hotMovies,
+        Map<String, String> posters
+) {}
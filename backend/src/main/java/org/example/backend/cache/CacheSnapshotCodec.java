@@ -0,0 +1,162 @@
+package org.example.backend.cache;
+
+import org.example.backend.model.Movie;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Length-prefixed binary layout for {@link CacheSnapshot}. Decoding works straight on a
+ * (memory-mapped) {@link ByteBuffer}, so loading needs no intermediate copies.
+ */
+public final class CacheSnapshotCodec {
+
+    static final int MAGIC = 0x4D565331; // "MVS1"
+    static final byte VERSION = 1;
+
+    private CacheSnapshotCodec() {
+    }
+
+    public static void encode(CacheSnapshot snapshot, DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeLong(snapshot.dailyDate() == null ? Long.MIN_VALUE : snapshot.dailyDate().toEpochDay());
+        writeMovies(out, snapshot.dailyMovies());
+        writeMovies(out, snapshot.hotMovies());
+        out.writeInt(snapshot.posters().size());
+        for (Map.Entry<String, String> poster : snapshot.posters().entrySet()) {
+            writeString(out, poster.getKey());
+            writeString(out, poster.getValue());
+        }
+    }
+
+    public static CacheSnapshot decode(ByteBuffer in) throws IOException {
+        try {
+            if (in.getInt() != MAGIC || in.get() != VERSION) {
+                throw new IOException("Unknown snapshot format.");
+            }
+            long epochDay = in.getLong();
+            LocalDate dailyDate = epochDay == Long.MIN_VALUE ? null : LocalDate.ofEpochDay(epochDay);
+            List<Movie> dailyMovies = readMovies(in);
+            List<Movie> hotMovies = readMovies(in);
+            int posterCount = in.getInt();
+            Map<String, String> posters = new LinkedHashMap<>();
+            for (int i = 0; i < posterCount; i++) {
+                posters.put(readString(in), readString(in));
+            }
+            return new CacheSnapshot(dailyDate, dailyMovies, hotMovies, posters);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Snapshot is truncated or corrupt.", e);
+        }
+    }
+
+    private static void writeMovies(DataOutputStream out, List<Movie> movies) throws IOException {
+        out.writeInt(movies.size());
+        for (Movie movie : movies) {
+            writeString(out, movie.id());
+            out.writeInt(movie.netzkinoId());
+            writeString(out, movie.slug());
+            writeString(out, movie.title());
+            writeString(out, movie.year());
+            writeString(out, movie.overview());
+            writeString(out, movie.regisseur());
+            writeString(out, movie.stars());
+            writeString(out, movie.imgNetzkino());
+            writeString(out, movie.imgNetzkinoSmall());
+            writeString(out, movie.imgImdb());
+            writeStrings(out, movie.queries());
+            if (movie.dateFetched() == null) {
+                out.writeInt(-1);
+            } else {
+                out.writeInt(movie.dateFetched().size());
+                for (LocalDate date : movie.dateFetched()) {
+                    out.writeLong(date.toEpochDay());
+                }
+            }
+        }
+    }
+
+    private static List<Movie> readMovies(ByteBuffer in) {
+        int count = in.getInt();
+        List<Movie> movies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String id = readString(in);
+            int netzkinoId = in.getInt();
+            String slug = readString(in);
+            String title = readString(in);
+            String year = readString(in);
+            String overview = readString(in);
+            String regisseur = readString(in);
+            String stars = readString(in);
+            String imgNetzkino = readString(in);
+            String imgNetzkinoSmall = readString(in);
+            String imgImdb = readString(in);
+            List<String> queries = readStrings(in);
+            List<LocalDate> dateFetched = null;
+            int dateCount = in.getInt();
+            if (dateCount >= 0) {
+                dateFetched = new ArrayList<>(dateCount);
+                for (int d = 0; d < dateCount; d++) {
+                    dateFetched.add(LocalDate.ofEpochDay(in.getLong()));
+                }
+            }
+            movies.add(new Movie(id, netzkinoId, slug, title, year, overview, regisseur, stars,
+                    imgNetzkino, imgNetzkinoSmall, imgImdb, queries, dateFetched));
+        }
+        return movies;
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        if (values == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private static List<String> readStrings(ByteBuffer in) {
+        int count = in.getInt();
+        if (count < 0) {
+            return null;
+        }
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(readString(in));
+        }
+        return values;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > in.remaining()) {
+            throw new IllegalArgumentException("String length exceeds snapshot size.");
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
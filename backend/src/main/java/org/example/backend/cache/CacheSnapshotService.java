@@ -0,0 +1,170 @@
+package org.example.backend.cache;
+
+import jakarta.annotation.PreDestroy;
+import org.example.backend.model.Movie;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+/**
+ * Persists the hot caches (daily selection, most viewed movies, TMDB posters) to local disk
+ * and restores them on startup. Runners finish before Spring Boot flips the readiness state to
+ * ACCEPTING_TRAFFIC, so /actuator/health/readiness only reports UP once the caches are warm.
+ */
+@Component
+public class CacheSnapshotService implements ApplicationRunner {
+
+    private final CacheManager cacheManager;
+    private final boolean enabled;
+    private final Path snapshotPath;
+    private final int maxMovies;
+    private final int maxPosters;
+
+    public CacheSnapshotService(CacheManager cacheManager,
+                                @Value("${cache.snapshot.enabled:true}") boolean enabled,
+                                @Value("${cache.snapshot.path:cache-snapshot.bin}") String snapshotPath,
+                                @Value("${cache.snapshot.max-movies:500}") int maxMovies,
+                                @Value("${cache.snapshot.max-posters:2000}") int maxPosters) {
+        this.cacheManager = cacheManager;
+        this.enabled = enabled;
+        this.snapshotPath = Path.of(snapshotPath);
+        this.maxMovies = maxMovies;
+        this.maxPosters = maxPosters;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) {
+            load();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cache.snapshot.interval:PT5M}", initialDelayString = "${cache.snapshot.interval:PT5M}")
+    public void writePeriodically() {
+        if (enabled) {
+            write();
+        }
+    }
+
+    @PreDestroy
+    public void writeOnShutdown() {
+        if (enabled) {
+            write();
+        }
+    }
+
+    public synchronized void write() {
+        CacheSnapshot snapshot = capture();
+        Path tmp = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        try {
+            if (snapshotPath.getParent() != null) {
+                Files.createDirectories(snapshotPath.getParent());
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                CacheSnapshotCodec.encode(snapshot, out);
+            }
+            Files.move(tmp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            System.out.println("Wrote cache snapshot with " + snapshot.hotMovies().size() + " movies and "
+                    + snapshot.posters().size() + " posters to " + snapshotPath);
+        } catch (IOException e) {
+            System.out.println("Failed to write cache snapshot: " + e.getMessage());
+        }
+    }
+
+    public synchronized void load() {
+        if (!Files.isRegularFile(snapshotPath)) {
+            System.out.println("No cache snapshot found at " + snapshotPath + ", starting cold.");
+            return;
+        }
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            restore(CacheSnapshotCodec.decode(buffer));
+            System.out.println("Loaded cache snapshot in " + (System.nanoTime() - start) / 1_000_000 + " ms.");
+        } catch (IOException e) {
+            System.out.println("Ignoring unreadable cache snapshot: " + e.getMessage());
+        }
+    }
+
+    private CacheSnapshot capture() {
+        LocalDate dailyDate = null;
+        List<Movie> dailyMovies = List.of();
+        // tomorrow may already be precomputed, but only today's selection is restored
+        for (Map.Entry<Object, Object> entry : nativeCache(CacheConfig.DAILY).entrySet()) {
+            if (entry.getKey() instanceof LocalDate date && !date.isAfter(LocalDate.now())
+                    && (dailyDate == null || date.isAfter(dailyDate))) {
+                dailyDate = date;
+                dailyMovies = movies(entry.getValue());
+            }
+        }
+
+        List<Movie> hotMovies = mostUsed(CacheConfig.MOVIES, maxMovies).stream()
+                .map(Map.Entry::getValue)
+                .filter(Movie.class::isInstance)
+                .map(Movie.class::cast)
+                .toList();
+
+        Map<String, String> posters = new LinkedHashMap<>();
+        mostUsed(CacheConfig.POSTERS, maxPosters)
+                .forEach(e -> posters.put(String.valueOf(e.getKey()), String.valueOf(e.getValue())));
+
+        return new CacheSnapshot(dailyDate, dailyMovies, hotMovies, posters);
+    }
+
+    private void restore(CacheSnapshot snapshot) {
+        // yesterday's selection is useless, only restore it if it is still current
+        if (LocalDate.now().equals(snapshot.dailyDate()) && !snapshot.dailyMovies().isEmpty()) {
+            cache(CacheConfig.DAILY).put(snapshot.dailyDate(), List.copyOf(snapshot.dailyMovies()));
+        }
+        Cache movies = cache(CacheConfig.MOVIES);
+        snapshot.hotMovies().forEach(movie -> movies.put(movie.slug(), movie));
+        Cache posters = cache(CacheConfig.POSTERS);
+        snapshot.posters().forEach(posters::put);
+    }
+
+    // the entries with the most hits since they were cached, or an arbitrary subset for a cache that does not count them
+    private List<Map.Entry<Object, Object>> mostUsed(String name, int limit) {
+        Stream<Map.Entry<Object, Object>> entries = nativeCache(name).entrySet().stream();
+        if (cache(name) instanceof UsageCountingCache counting) {
+            counting.pruneCounts();
+            entries = entries.sorted(Comparator.comparingLong((Map.Entry<Object, Object> e) -> counting.hits(e.getKey())).reversed());
+        }
+        return entries.limit(limit).map(e -> Map.entry(e.getKey(), e.getValue())).toList();
+    }
+
+    private List<Movie> movies(Object value) {
+        if (value instanceof List<?> list) {
+            return list.stream().filter(Movie.class::isInstance).map(Movie.class::cast).toList();
+        }
+        return List.of();
+    }
+
+    private Cache cache(String name) {
+        return Objects.requireNonNull(cacheManager.getCache(name), "Missing cache " + name);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ConcurrentMap<Object, Object> nativeCache(String name) {
+        Object nativeCache = cache(name).getNativeCache();
+        return nativeCache instanceof ConcurrentMap<?, ?> map ? (ConcurrentMap<Object, Object>) map : new ConcurrentHashMap<>();
+    }
+}
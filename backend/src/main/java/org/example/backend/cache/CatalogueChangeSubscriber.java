@@ -0,0 +1,351 @@
+package org.example.backend.cache;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import jakarta.annotation.PreDestroy;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.example.backend.model.Movie;
+import org.example.backend.model.User;
+import org.example.backend.repo.MovieRepo;
+import org.example.backend.repo.MovieStorageFormat;
+import org.example.backend.service.AutocompleteService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the local caches (movie details, daily selections, users) and the autocomplete index in
+ * line with writes made by other instances. Writes through this instance are already handled by
+ * the mapping event listeners; this covers everything else. It follows a change stream on movies
+ * and users and resumes from the last token it stored for this node, so entries restored from the
+ * cache snapshot are invalidated too. Where change streams are not available (a standalone mongod,
+ * as in the tests) it falls back to polling: cached entries are re-read and dropped when they
+ * differ, and movies added or removed elsewhere are picked up by the autocomplete index.
+ */
+@Component
+public class CatalogueChangeSubscriber {
+
+    private static final String TOKENS = "cache_resume_tokens";
+    private static final List<String> COLLECTIONS = List.of("movies", "users");
+    // "The $changeStream stage is only supported on replica sets"
+    private static final int CHANGE_STREAMS_UNSUPPORTED = 40573;
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+
+    enum Mode { CHANGE_STREAM, POLLING, OFF }
+
+    private final MongoTemplate mongoTemplate;
+    private final MovieRepo movieRepo;
+    private final CacheManager cacheManager;
+    private final MovieCacheEvictionListener movieEviction;
+    private final AutocompleteService autocompleteService;
+    private final String nodeId;
+    private final Duration retryDelay;
+
+    private volatile Mode mode;
+    private volatile boolean running;
+    private volatile BsonDocument resumeToken;
+    private BsonDocument savedToken;
+    private Thread watcher;
+
+    public CatalogueChangeSubscriber(MongoTemplate mongoTemplate,
+                                     MovieRepo movieRepo,
+                                     CacheManager cacheManager,
+                                     MovieCacheEvictionListener movieEviction,
+                                     AutocompleteService autocompleteService,
+                                     @Value("${cache.invalidation.mode:change-stream}") String mode,
+                                     @Value("${cache.invalidation.node-id:${HOSTNAME:local}}") String nodeId,
+                                     @Value("${cache.invalidation.retry-delay:PT5S}") Duration retryDelay) {
+        this.mongoTemplate = mongoTemplate;
+        this.movieRepo = movieRepo;
+        this.cacheManager = cacheManager;
+        this.movieEviction = movieEviction;
+        this.autocompleteService = autocompleteService;
+        this.mode = Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        this.nodeId = nodeId;
+        this.retryDelay = retryDelay;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (mode != Mode.CHANGE_STREAM || running) {
+            return;
+        }
+        running = true;
+        resumeToken = loadToken();
+        savedToken = resumeToken;
+        watcher = Thread.ofVirtual().name("catalogue-change-stream").start(this::watch);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        Thread thread = watcher;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        saveToken();
+    }
+
+    Mode mode() {
+        return mode;
+    }
+
+    private void watch() {
+        System.out.println("Following changes to " + COLLECTIONS + (resumeToken == null ? "" : " from the stored resume token"));
+        while (running) {
+            try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = openStream().cursor()) {
+                while (running) {
+                    ChangeStreamDocument<Document> change = cursor.tryNext();
+                    if (change != null) {
+                        apply(change);
+                        if ("invalidate".equals(change.getOperationTypeString())) {
+                            // the stream is closed and cannot be resumed past this event
+                            resumeToken = null;
+                            break;
+                        }
+                    }
+                    // the cursor's token also moves on while nothing changes
+                    if (cursor.getResumeToken() != null) {
+                        resumeToken = cursor.getResumeToken();
+                    }
+                }
+            } catch (MongoCommandException e) {
+                if (e.getErrorCode() == CHANGE_STREAMS_UNSUPPORTED) {
+                    System.out.println("Change streams are not available, polling for catalogue changes instead.");
+                    mode = Mode.POLLING;
+                    running = false;
+                    return;
+                }
+                if (e.getErrorCode() == CHANGE_STREAM_HISTORY_LOST) {
+                    // too far behind to resume, anything cached may have missed a change
+                    System.out.println("Resume token is no longer in the oplog, clearing local caches.");
+                    resumeToken = null;
+                    clearAll();
+                } else {
+                    System.out.println("Catalogue change stream failed: " + e.getMessage());
+                }
+                pause();
+            } catch (Exception e) {
+                if (running) {
+                    System.out.println("Catalogue change stream failed: " + e.getMessage());
+                    pause();
+                }
+            }
+        }
+    }
+
+    private ChangeStreamIterable<Document> openStream() {
+        ChangeStreamIterable<Document> stream = mongoTemplate.getDb()
+                .watch(List.of(Aggregates.match(Filters.in("ns.coll", COLLECTIONS))))
+                .fullDocument(FullDocument.UPDATE_LOOKUP)
+                .maxAwaitTime(1, TimeUnit.SECONDS);
+        return resumeToken == null ? stream : stream.resumeAfter(resumeToken);
+    }
+
+    private void apply(ChangeStreamDocument<Document> change) {
+        String collection = change.getNamespace() == null ? null : change.getNamespace().getCollectionName();
+        BsonValue id = change.getDocumentKey() == null ? null : change.getDocumentKey().get("_id");
+        handle(collection, change.getOperationTypeString(), id instanceof BsonString s ? s.getValue() : null,
+                change.getFullDocument());
+    }
+
+    // ✅ the full document is looked up with the change, so no extra read per event
+    void handle(String collection, String operation, String id, Document fullDocument) {
+        switch (operation) {
+            case "insert", "update", "replace" -> {
+                if ("movies".equals(collection)) {
+                    changedMovie(id, fullDocument);
+                } else if ("users".equals(collection)) {
+                    changedUser(fullDocument);
+                }
+            }
+            case "delete" -> {
+                if ("movies".equals(collection) && id != null) {
+                    movieEviction.evict(id);
+                    autocompleteService.removeMovie(id);
+                } else if ("users".equals(collection)) {
+                    // the change only carries the _id, not the githubId the cache is keyed by
+                    clear(CacheConfig.USERS);
+                }
+            }
+            case "drop", "rename", "dropDatabase", "invalidate" -> clearAll();
+            default -> {
+            }
+        }
+    }
+
+    private void changedMovie(String id, Document fullDocument) {
+        if (fullDocument == null) {
+            // deleted again before the lookup
+            if (id != null) {
+                movieEviction.evict(id);
+                autocompleteService.removeMovie(id);
+            }
+            return;
+        }
+        Movie movie = mongoTemplate.getConverter().read(Movie.class, MovieStorageFormat.expand(fullDocument));
+        movieEviction.evict(movie.slug());
+        autocompleteService.indexMovie(movie);
+    }
+
+    private void changedUser(Document fullDocument) {
+        Cache users = cacheManager.getCache(CacheConfig.USERS);
+        if (users == null) {
+            return;
+        }
+        if (fullDocument != null && fullDocument.get("githubId") instanceof String githubId) {
+            users.evict(githubId);
+        } else {
+            users.clear();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cache.invalidation.poll-interval:PT5S}")
+    public void poll() {
+        if (mode != Mode.POLLING) {
+            return;
+        }
+        try {
+            pollMovies();
+            pollUsers();
+            pollCatalogue();
+        } catch (Exception e) {
+            System.out.println("Polling for catalogue changes failed: " + e.getMessage());
+        }
+    }
+
+    void pollMovies() {
+        Map<String, Movie> cached = new HashMap<>();
+        nativeCache(CacheConfig.MOVIES).forEach((slug, value) -> {
+            if (slug instanceof String s && value instanceof Movie movie) {
+                cached.put(s, movie);
+            }
+        });
+        nativeCache(CacheConfig.DAILY).values().forEach(value -> {
+            if (value instanceof List<?> movies) {
+                movies.forEach(m -> {
+                    if (m instanceof Movie movie && movie.slug() != null) {
+                        cached.putIfAbsent(movie.slug(), movie);
+                    }
+                });
+            }
+        });
+        if (cached.isEmpty()) {
+            return;
+        }
+        Map<String, Movie> stored = new HashMap<>();
+        movieRepo.findBySlugIn(cached.keySet()).forEach(movie -> stored.put(movie.slug(), movie));
+        cached.forEach((slug, movie) -> {
+            if (!movie.equals(stored.get(slug))) {
+                movieEviction.evict(slug);
+            }
+        });
+    }
+
+    void pollUsers() {
+        Map<Object, Object> cached = Map.copyOf(nativeCache(CacheConfig.USERS));
+        if (cached.isEmpty()) {
+            return;
+        }
+        Map<String, User> stored = new HashMap<>();
+        mongoTemplate.find(Query.query(Criteria.where("githubId").in(cached.keySet())), User.class)
+                .forEach(user -> stored.put(user.githubId(), user));
+        Cache users = cacheManager.getCache(CacheConfig.USERS);
+        cached.forEach((githubId, user) -> {
+            if (users != null && !user.equals(stored.get(githubId))) {
+                users.evict(githubId);
+            }
+        });
+    }
+
+    // only sees movies added or removed elsewhere; a changed title is picked up once it is cached or saved here
+    void pollCatalogue() {
+        Query slugsOnly = new Query();
+        slugsOnly.fields().include("slug");
+        Set<String> stored = new HashSet<>();
+        mongoTemplate.find(slugsOnly, Movie.class).forEach(movie -> stored.add(movie.slug()));
+        Set<String> indexed = autocompleteService.indexedSlugs();
+
+        indexed.stream().filter(slug -> !stored.contains(slug)).forEach(autocompleteService::removeMovie);
+        List<String> added = stored.stream().filter(slug -> !indexed.contains(slug)).toList();
+        if (!added.isEmpty()) {
+            movieRepo.findBySlugIn(added).forEach(autocompleteService::indexMovie);
+        }
+    }
+
+    private BsonDocument loadToken() {
+        try {
+            Document stored = mongoTemplate.findById(nodeId, Document.class, TOKENS);
+            return stored != null && stored.get("token") instanceof String json ? BsonDocument.parse(json) : null;
+        } catch (Exception e) {
+            System.out.println("Could not load change stream resume token: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // a few seconds of replayed events after a restart are harmless, so the token is not saved per event
+    @Scheduled(fixedDelayString = "${cache.invalidation.token-save-interval:PT5S}")
+    public synchronized void saveToken() {
+        BsonDocument token = resumeToken;
+        if (token == null || token.equals(savedToken)) {
+            return;
+        }
+        try {
+            mongoTemplate.upsert(Query.query(Criteria.where("_id").is(nodeId)),
+                    new Update().set("token", token.toJson()).set("updatedAt", Instant.now()), TOKENS);
+            savedToken = token;
+        } catch (Exception e) {
+            System.out.println("Could not save change stream resume token: " + e.getMessage());
+        }
+    }
+
+    private void clearAll() {
+        clear(CacheConfig.MOVIES);
+        clear(CacheConfig.DAILY);
+        clear(CacheConfig.USERS);
+        autocompleteService.rebuild();
+    }
+
+    private void clear(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Object, Object> nativeCache(String name) {
+        Cache cache = cacheManager.getCache(name);
+        return cache != null && cache.getNativeCache() instanceof Map<?, ?> map ? (Map<Object, Object>) map : Map.of();
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(retryDelay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
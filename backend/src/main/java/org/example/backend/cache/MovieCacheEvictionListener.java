@@ -0,0 +1,64 @@
+package org.example.backend.cache;
+
+import org.bson.Document;
+import org.example.backend.model.Movie;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Drops cached copies of a movie (detail cache and any daily selection containing it)
+ * whenever the document is written or deleted.
+ */
+@Component
+public class MovieCacheEvictionListener extends AbstractMongoEventListener<Movie> {
+
+    private final CacheManager cacheManager;
+
+    public MovieCacheEvictionListener(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Movie> event) {
+        evict(event.getSource().slug());
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Movie> event) {
+        Document query = event.getSource();
+        // id and slug are the same value for movies
+        Object slug = query.containsKey("slug") ? query.get("slug") : query.get("_id");
+        if (slug instanceof String s) {
+            evict(s);
+        } else {
+            clear(CacheConfig.MOVIES);
+            clear(CacheConfig.DAILY);
+        }
+    }
+
+    public void evict(String slug) {
+        Cache movies = cacheManager.getCache(CacheConfig.MOVIES);
+        if (movies != null) {
+            movies.evict(slug);
+        }
+        Cache daily = cacheManager.getCache(CacheConfig.DAILY);
+        if (daily != null && daily.getNativeCache() instanceof Map<?, ?> selections) {
+            selections.entrySet().removeIf(e -> e.getValue() instanceof List<?> list
+                    && list.stream().anyMatch(m -> m instanceof Movie movie && slug.equals(movie.slug())));
+        }
+    }
+
+    private void clear(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.backend.cache;
+
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * ConcurrentMapCache that counts the hits on every entry, so CacheSnapshotService can keep the
+ * most used entries instead of whichever the map happens to iterate first. Counts are dropped
+ * with their entry.
+ */
+class UsageCountingCache extends ConcurrentMapCache {
+
+    private final ConcurrentMap<Object, Long> hits = new ConcurrentHashMap<>();
+
+    UsageCountingCache(String name) {
+        super(name);
+    }
+
+    long hits(Object key) {
+        return hits.getOrDefault(key, 0L);
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = super.lookup(key);
+        if (value != null) {
+            hits.merge(key, 1L, Long::sum);
+        }
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        if (getNativeCache().containsKey(key)) {
+            hits.merge(key, 1L, Long::sum);
+        }
+        return super.get(key, valueLoader);
+    }
+
+    @Override
+    public void evict(Object key) {
+        super.evict(key);
+        hits.remove(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        hits.remove(key);
+        return super.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        hits.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        hits.clear();
+        return super.invalidate();
+    }
+
+    // entries removed through the native map leave their count behind, the snapshot prunes those
+    void pruneCounts() {
+        hits.keySet().retainAll(getNativeCache().keySet());
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.backend.cache;
+
+import org.bson.Document;
+import org.example.backend.model.User;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes saved users through to the users cache and drops deleted ones. Writes that bypass the
+ * repository (upserts, bulk updates) have to evict the affected githubIds themselves.
+ */
+@Component
+public class UserCacheListener extends AbstractMongoEventListener<User> {
+
+    private final CacheManager cacheManager;
+
+    public UserCacheListener(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<User> event) {
+        User user = event.getSource();
+        Cache users = cacheManager.getCache(CacheConfig.USERS);
+        if (users != null && user.githubId() != null) {
+            users.put(user.githubId(), user);
+        }
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<User> event) {
+        Cache users = cacheManager.getCache(CacheConfig.USERS);
+        if (users == null) {
+            return;
+        }
+        Document query = event.getSource();
+        if (query.get("githubId") instanceof String githubId) {
+            users.evict(githubId);
+        } else {
+            users.clear();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.backend.dtos.netzkino.NetzkinoResponse;
+import org.example.backend.dtos.tmdb.TmdbResponse;
+import org.example.backend.model.Movie;
+import org.example.backend.repo.MovieRepo;
+import org.example.backend.repo.QueryRepo;
+import org.example.backend.repo.UserRepo;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Training workload for the Class Data Sharing archive (see the "cds" Maven profile).
+ * Only active with cds.training=true: it touches the code paths a real request needs
+ * (MVC + Jackson, upstream DTO binding, repository proxies) so their classes end up in
+ * the archive, then shuts the JVM down, which is when -XX:ArchiveClassesAtExit writes it.
+ */
+@Component
+@ConditionalOnProperty(name = "cds.training", havingValue = "true")
+public class CdsTrainingRun {
+
+    private static final String NETZKINO_SAMPLE = """
+            {"searchTerm":"cds","status":"ok","count_total":1,"count":1,"page":1,"pages":1,
+             "posts":[{"id":1,"slug":"cds","title":"CDS","content":"",
+                       "date":"2024-01-01T00:00:00+01:00","modified":"2024-01-01T00:00:00+01:00",
+                       "author":{"name":"cds"},"categories":[1],
+                       "custom_fields":{"Jahr":["2024"],"IMDb-Link":["https://www.imdb.com/title/tt0000001/"],
+                                        "licenseStart":"2024-01-01T00:00:00+01:00","drm":false}}]}
+            """;
+    private static final String TMDB_SAMPLE = """
+            {"movie_results":[{"backdrop_path":"/cds.jpg","id":1,"title":"CDS","genre_ids":[1],"popularity":1.0}],
+             "person_results":[],"tv_results":[],"tv_episode_results":[],"tv_season_results":[]}
+            """;
+
+    private final ApplicationContext context;
+    private final Environment environment;
+    private final ObjectMapper objectMapper;
+    private final RestTemplate restTemplate;
+    private final MovieRepo movieRepo;
+    private final QueryRepo queryRepo;
+    private final UserRepo userRepo;
+
+    public CdsTrainingRun(ApplicationContext context, Environment environment, ObjectMapper objectMapper,
+                          RestTemplate restTemplate, MovieRepo movieRepo, QueryRepo queryRepo, UserRepo userRepo) {
+        this.context = context;
+        this.environment = environment;
+        this.objectMapper = objectMapper;
+        this.restTemplate = restTemplate;
+        this.movieRepo = movieRepo;
+        this.queryRepo = queryRepo;
+        this.userRepo = userRepo;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void train() {
+        System.out.println("CDS training run started...");
+        step("jackson", () -> {
+            objectMapper.readValue(NETZKINO_SAMPLE, NetzkinoResponse.class);
+            objectMapper.readValue(TMDB_SAMPLE, TmdbResponse.class);
+            Movie movie = new Movie("cds", 1, "cds", "CDS", "2024", "", "", "", "", "", "", List.of("cds"), List.of(LocalDate.now()));
+            objectMapper.readValue(objectMapper.writeValueAsString(movie), Movie.class);
+        });
+
+        String baseUrl = "http://localhost:" + environment.getProperty("local.server.port", "8080");
+        step("autocomplete", () -> restTemplate.getForObject(baseUrl + "/api/movies/autocomplete?prefix=c", String.class));
+        step("readiness", () -> restTemplate.getForObject(baseUrl + "/actuator/health/readiness", String.class));
+        step("daily", () -> restTemplate.getForObject(baseUrl + "/api/movies/daily", String.class));
+
+        // without a reachable Mongo these fail after the server selection timeout, the driver classes are loaded anyway
+        step("movieRepo", () -> movieRepo.findBySlug("cds"));
+        step("queryRepo", () -> queryRepo.existsByQuery("cds"));
+        step("userRepo", () -> userRepo.findByGithubId("cds"));
+
+        System.out.println("CDS training run finished, exiting.");
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+
+    private void step(String name, ThrowingRunnable runnable) {
+        try {
+            runnable.run();
+            System.out.println("CDS training step " + name + " done.");
+        } catch (Exception e) {
+            System.out.println("CDS training step " + name + " failed: " + e.getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,137 @@
+package org.example.backend.config;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.event.CommandEvent;
+import com.mongodb.event.CommandStartedEvent;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.mongodb.DefaultMongoCommandTagsProvider;
+import io.micrometer.core.instrument.binder.mongodb.MongoCommandTagsProvider;
+import org.example.backend.repo.DailySelectionRepo;
+import org.example.backend.repo.MovieRepo;
+import org.example.backend.repo.QueryRepo;
+import org.example.backend.repo.UserRepo;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tunes the pool and timeouts of the Mongo client and gives MovieRepo, QueryRepo and UserRepo
+ * their own template, so each can read with its own read preference (e.g. the catalogue from
+ * secondaries while users stay on the primary). Boot's Mongo metrics already register the command
+ * and pool listeners; command timings are additionally tagged with the repository.
+ */
+@Configuration
+@EnableConfigurationProperties(MongoClientProperties.class)
+public class MongoClientConfig {
+
+    private static final Map<String, String> REPOSITORIES_BY_COLLECTION = Map.of(
+            "movies", MovieRepo.class.getSimpleName(),
+            "queries", QueryRepo.class.getSimpleName(),
+            "users", UserRepo.class.getSimpleName());
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoClientTuning(MongoClientProperties properties) {
+        MongoClientProperties.Pool pool = properties.pool();
+        MongoClientProperties.Timeouts timeouts = properties.timeouts();
+        return settings -> settings
+                .applyToConnectionPoolSettings(builder -> {
+                    if (pool.minSize() != null) builder.minSize(pool.minSize());
+                    if (pool.maxSize() != null) builder.maxSize(pool.maxSize());
+                    if (pool.maxWait() != null) builder.maxWaitTime(pool.maxWait().toMillis(), TimeUnit.MILLISECONDS);
+                    if (pool.maxIdle() != null) builder.maxConnectionIdleTime(pool.maxIdle().toMillis(), TimeUnit.MILLISECONDS);
+                })
+                .applyToSocketSettings(builder -> {
+                    if (timeouts.connect() != null) builder.connectTimeout(timeouts.connect().toMillis(), TimeUnit.MILLISECONDS);
+                    if (timeouts.socketRead() != null) builder.readTimeout(timeouts.socketRead().toMillis(), TimeUnit.MILLISECONDS);
+                })
+                .applyToClusterSettings(builder -> {
+                    if (timeouts.serverSelection() != null) {
+                        builder.serverSelectionTimeout(timeouts.serverSelection().toMillis(), TimeUnit.MILLISECONDS);
+                    }
+                });
+    }
+
+    // replaces Boot's default provider, which is what its command listener uses for the tags
+    @Bean
+    public MongoCommandTagsProvider repositoryCommandTagsProvider() {
+        DefaultMongoCommandTagsProvider defaults = new DefaultMongoCommandTagsProvider();
+        return new MongoCommandTagsProvider() {
+            @Override
+            public void commandStarted(CommandStartedEvent event) {
+                defaults.commandStarted(event);
+            }
+
+            @Override
+            public Iterable<Tag> commandTags(CommandEvent event) {
+                Tags tags = Tags.of(defaults.commandTags(event));
+                String collection = tags.stream()
+                        .filter(tag -> tag.getKey().equals("collection"))
+                        .map(Tag::getValue)
+                        .findFirst()
+                        .orElse("unknown");
+                return tags.and("repository", REPOSITORIES_BY_COLLECTION.getOrDefault(collection, "none"));
+            }
+        };
+    }
+
+    // defining any template switches Boot's off, so the shared one is declared here too
+    @Bean
+    @Primary
+    public MongoTemplate mongoTemplate(MongoDatabaseFactory factory, MongoConverter converter) {
+        return new MongoTemplate(factory, converter);
+    }
+
+    @Bean
+    public MongoTemplate movieMongoTemplate(MongoDatabaseFactory factory, MongoConverter converter, MongoClientProperties properties) {
+        return templateFor(factory, converter, properties.readPreferenceFor("movies"));
+    }
+
+    @Bean
+    public MongoTemplate queryMongoTemplate(MongoDatabaseFactory factory, MongoConverter converter, MongoClientProperties properties) {
+        return templateFor(factory, converter, properties.readPreferenceFor("queries"));
+    }
+
+    @Bean
+    public MongoTemplate userMongoTemplate(MongoDatabaseFactory factory, MongoConverter converter, MongoClientProperties properties) {
+        return templateFor(factory, converter, properties.readPreferenceFor("users"));
+    }
+
+    private static MongoTemplate templateFor(MongoDatabaseFactory factory, MongoConverter converter, String readPreference) {
+        MongoTemplate template = new MongoTemplate(factory, converter);
+        template.setReadPreference(ReadPreference.valueOf(readPreference));
+        return template;
+    }
+
+    // declaring repositories switches Boot's repository scanning off, so every repository is listed
+    @Configuration
+    @EnableMongoRepositories(basePackageClasses = MovieRepo.class, mongoTemplateRef = "movieMongoTemplate",
+            includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = MovieRepo.class))
+    static class MovieRepositories {}
+
+    @Configuration
+    @EnableMongoRepositories(basePackageClasses = QueryRepo.class, mongoTemplateRef = "queryMongoTemplate",
+            includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = QueryRepo.class))
+    static class QueryRepositories {}
+
+    @Configuration
+    @EnableMongoRepositories(basePackageClasses = UserRepo.class, mongoTemplateRef = "userMongoTemplate",
+            includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = UserRepo.class))
+    static class UserRepositories {}
+
+    @Configuration
+    @EnableMongoRepositories(basePackageClasses = DailySelectionRepo.class, mongoTemplateRef = "mongoTemplate",
+            includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = DailySelectionRepo.class))
+    static class DefaultRepositories {}
+}
@@ -0,0 +1,30 @@
+package org.example.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Mongo client settings beyond the connection string. Unset values keep the driver default.
+ * readPreference is keyed by collection (movies, queries, users) and only applies to the
+ * repository of that collection, everything else reads from the primary. MovieRepo's
+ * search-by-query lookup and the reads that decide a write (MovieRepo.findByIdIn,
+ * QueryRepo.existsByQuery) always read from the primary so they see the latest writes.
+ */
+@ConfigurationProperties(prefix = "mongo.client")
+public record MongoClientProperties(
+        @DefaultValue Pool pool,
+        @DefaultValue Timeouts timeouts,
+        Map<String, String> readPreference
+) {
+
+    public record Pool(Integer minSize, Integer maxSize, Duration maxWait, Duration maxIdle) {}
+
+    public record Timeouts(Duration connect, Duration socketRead, Duration serverSelection) {}
+
+    public String readPreferenceFor(String collection) {
+        return readPreference == null ? "primary" : readPreference.getOrDefault(collection, "primary");
+    }
+}
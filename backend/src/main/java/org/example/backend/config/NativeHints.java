@@ -0,0 +1,46 @@
+package org.example.backend.config;
+
+import org.example.backend.cache.CacheSnapshot;
+import org.example.backend.dtos.netzkino.*;
+import org.example.backend.dtos.tmdb.TmdbMovieResult;
+import org.example.backend.dtos.tmdb.TmdbResponse;
+import org.example.backend.model.DailySelection;
+import org.example.backend.model.Movie;
+import org.example.backend.model.Query;
+import org.example.backend.model.User;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.util.List;
+
+/**
+ * Reflection hints for the native image. Controller payloads are detected by Spring AOT on its own,
+ * but the upstream DTOs are only bound through RestTemplate and the documents through the Mongo
+ * converters, so they have to be registered here. Repositories are handled by Spring Data AOT.
+ */
+public class NativeHints implements RuntimeHintsRegistrar {
+
+    static final List<Class<?>> BOUND_TYPES = List.of(
+            NetzkinoResponse.class,
+            Post.class,
+            CustomFields.class,
+            Author.class,
+            Match.class,
+            TmdbResponse.class,
+            TmdbMovieResult.class,
+            Movie.class,
+            DailySelection.class,
+            User.class,
+            Query.class,
+            CacheSnapshot.class
+    );
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        bindingRegistrar.registerReflectionHints(hints.reflection(), BOUND_TYPES.toArray(Class<?>[]::new));
+        hints.resources().registerPattern("seed-names.txt");
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.backend.config;
+
+import org.example.backend.service.RetryPolicy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class RetryConfig {
+
+    @Bean
+    public RetryPolicy netzkinoRetryPolicy(@Value("${netzkino.retry.max-attempts:8}") int maxAttempts,
+                                           @Value("${netzkino.retry.base-delay:PT0.2S}") Duration baseDelay,
+                                           @Value("${netzkino.retry.max-delay:PT2S}") Duration maxDelay,
+                                           @Value("${netzkino.retry.budget:PT15S}") Duration budget) {
+        return new RetryPolicy.ExponentialBackoff(maxAttempts, baseDelay, maxDelay, budget);
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.backend.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.backend.model.Movie;
+import org.example.backend.service.ImageCacheService;
+import org.example.backend.service.MovieService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+@RestController
+@RequestMapping("/api/images")
+public class ImageController {
+
+    // Tomcat's NIO connector hands the file to the kernel (sendfile) when these request attributes are set
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final MovieService movieService;
+    private final ImageCacheService imageCacheService;
+    private final String cacheControl;
+
+    public ImageController(MovieService movieService, ImageCacheService imageCacheService,
+                           @Value("${images.cache-control:public, max-age=604800}") String cacheControl) {
+        this.movieService = movieService;
+        this.imageCacheService = imageCacheService;
+        this.cacheControl = cacheControl;
+    }
+
+    // Only URLs stored on a movie are fetched, so this can't be used as an open proxy
+    @GetMapping("/{slug}/{kind}")
+    public void getImage(@PathVariable String slug, @PathVariable String kind,
+                         @RequestParam(required = false) Integer w,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Movie movie = movieService.getMovieBySlug(slug);
+        String sourceUrl = switch (kind) {
+            case "netzkino" -> movie.imgNetzkino();
+            case "netzkino-small" -> movie.imgNetzkinoSmall();
+            case "imdb" -> movie.imgImdb();
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown image kind: " + kind);
+        };
+        if (sourceUrl == null || sourceUrl.isBlank() || "N/A".equals(sourceUrl)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Movie " + slug + " has no " + kind + " image.");
+        }
+
+        ImageCacheService.CachedImage image = imageCacheService.getImage(sourceUrl, w);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setHeader(HttpHeaders.ETAG, image.etag());
+        // ✅ checkNotModified handles weak etags and lists, but ignores "*" on a GET, where it matches any existing image
+        boolean wildcard = "*".equals(StringUtils.trimWhitespace(request.getHeader(HttpHeaders.IF_NONE_MATCH)));
+        if (new ServletWebRequest(request, response).checkNotModified(image.etag()) || wildcard) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        response.setContentType(image.contentType());
+        response.setContentLengthLong(image.size());
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, image.path().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, image.size());
+            return;
+        }
+
+        try (FileChannel file = FileChannel.open(image.path(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < image.size()) {
+                long transferred = file.transferTo(position, image.size() - position, out);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+            }
+        }
+    }
+}
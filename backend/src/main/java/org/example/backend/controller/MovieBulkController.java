@@ -0,0 +1,75 @@
+package org.example.backend.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.backend.dtos.MovieImportProgress;
+import org.example.backend.service.MovieBulkService;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// ✅ Backup and seeding of the whole catalogue as NDJSON, without a request per movie
+@RestController
+@RequestMapping("/api/movies")
+public class MovieBulkController {
+
+    public static final String NDJSON = "application/x-ndjson";
+
+    private final MovieBulkService movieBulkService;
+    private final ObjectWriter progressWriter;
+
+    public MovieBulkController(MovieBulkService movieBulkService, ObjectMapper objectMapper) {
+        this.movieBulkService = movieBulkService;
+        this.progressWriter = objectMapper.writerFor(MovieImportProgress.class).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    // written straight to the response (no async timeout for large catalogues), gzipped unless the client can't take it
+    @GetMapping(value = "/export", produces = NDJSON)
+    public void exportMovies(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, defaultValue = "") String acceptEncoding,
+                             HttpServletResponse response) throws IOException {
+        boolean gzip = acceptEncoding.toLowerCase().contains("gzip");
+        response.setContentType(NDJSON);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("movies-" + LocalDate.now() + ".ndjson").build().toString());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (!gzip) {
+            movieBulkService.exportMovies(response.getOutputStream());
+            return;
+        }
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        try (GZIPOutputStream compressed = new GZIPOutputStream(response.getOutputStream(), 64 * 1024)) {
+            movieBulkService.exportMovies(compressed);
+        }
+    }
+
+    // progress is written as one NDJSON line per batch, so a long import can be followed with curl -N
+    @PostMapping(value = "/import", consumes = NDJSON, produces = NDJSON)
+    public void importMovies(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        InputStream body = request.getInputStream();
+        if ("gzip".equalsIgnoreCase(request.getHeader(HttpHeaders.CONTENT_ENCODING))) {
+            body = new GZIPInputStream(body, 64 * 1024);
+        }
+        response.setContentType(NDJSON);
+        OutputStream out = response.getOutputStream();
+        movieBulkService.importMovies(body, progress -> {
+            try {
+                progressWriter.writeValue(out, progress);
+                out.write('\n');
+                out.flush();
+            } catch (IOException e) {
+                // the client stopped listening, the import itself carries on
+                System.out.println("Could not report import progress: " + e.getMessage());
+            }
+        });
+    }
+}
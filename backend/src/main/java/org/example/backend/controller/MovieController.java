@@ -4,18 +4,33 @@ import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
 import io.github.bucket4j.Bucket4j;
 import io.github.bucket4j.Refill;
+import jakarta.annotation.PreDestroy;
+import org.example.backend.dtos.MovieBatch;
+import org.example.backend.exceptions.InvalidSearchQueryException;
 import org.example.backend.model.Movie;
+import org.example.backend.service.AutocompleteService;
+import org.example.backend.service.DailySelectionService;
 import org.example.backend.service.MovieAPIService;
+import org.example.backend.service.MovieProjection;
 import org.example.backend.service.MovieService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.time.Duration;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 
 @RestController
@@ -25,6 +40,8 @@ public class MovieController {
     private static final Logger logger = LoggerFactory.getLogger(MovieController.class);
     private final MovieService movieService;
     private final MovieAPIService movieAPIService;
+    private final AutocompleteService autocompleteService;
+    private final DailySelectionService dailySelectionService;
 
     // bucket for API rate limiting
     private final Bucket searchBucket = Bucket4j.builder()
@@ -36,14 +53,31 @@ public class MovieController {
             )
             .build();
 
-    public MovieController(MovieService movieService, MovieAPIService movieAPIService) {
+    // searches wait on Netzkino and TMDB most of the time, so each stream gets a virtual thread
+    private final ExecutorService searchStreamExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private static final Duration SEARCH_STREAM_TIMEOUT = Duration.ofSeconds(60);
+
+    public MovieController(MovieService movieService, MovieAPIService movieAPIService, AutocompleteService autocompleteService,
+                           DailySelectionService dailySelectionService) {
         this.movieService = movieService;
         this.movieAPIService = movieAPIService;
+        this.autocompleteService = autocompleteService;
+        this.dailySelectionService = dailySelectionService;
     }
 
+    // fields=slug,title or view=list limit the response (and the Mongo read) to those properties
     @GetMapping
-    public List<Movie> getAllMovies() {
-        return movieService.getAllMovies();
+    public List<?> getAllMovies(@RequestParam(required = false) String fields,
+                                @RequestParam(required = false) String view) {
+        return MovieProjection.resolve(fields, view)
+                .<List<?>>map(movieService::getAllMovies)
+                .orElseGet(movieService::getAllMovies);
+    }
+
+    // slugs=a,b,c resolves several movies in one request, e.g. for a watchlist
+    @GetMapping("/batch")
+    public MovieBatch getMoviesBySlugs(@RequestParam List<String> slugs) {
+        return movieService.getMoviesBySlugs(slugs);
     }
 
     @GetMapping("/{slug}")
@@ -82,12 +116,15 @@ public class MovieController {
     
 
     @GetMapping("/daily")
-    public ResponseEntity<List<Movie>> getDailyMovies() {
+    public ResponseEntity<List<?>> getDailyMovies(@RequestParam(required = false) String tz,
+                                                  @RequestParam(required = false) String fields,
+                                                  @RequestParam(required = false) String view) {
         System.out.println("Received request for daily movies");
+        Optional<List<String>> projection = MovieProjection.resolve(fields, view);
         try {
-            List<Movie> movies = movieAPIService.getMoviesOfTheDay(null); // Pass null to allow service to handle default
+            List<Movie> movies = dailySelectionService.getMoviesOfTheDay(tz); // ✅ the day flips at the client's midnight
             System.out.println("Successfully retrieved " + movies.size() + " daily movies");
-            return ResponseEntity.ok(movies);
+            return ResponseEntity.ok(project(movies, projection));
         } catch (Exception e) {
             System.out.println("Error fetching daily movies: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -95,8 +132,28 @@ public class MovieController {
         }
     }
 
+    // a stored day only, past dates are never generated after the fact
+    @GetMapping("/daily/{date}")
+    public List<?> getDailyMoviesForDate(@PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                         @RequestParam(required = false) String fields,
+                                         @RequestParam(required = false) String view) {
+        return project(dailySelectionService.getStoredMovies(date), MovieProjection.resolve(fields, view));
+    }
+
+    // newest day first, pass the returned "next" as before to get the following page
+    @GetMapping("/daily/history")
+    public DailySelectionService.DailyHistoryPage getDailyHistory(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate before,
+            @RequestParam(defaultValue = "30") int limit) {
+        return dailySelectionService.getHistory(before, limit);
+    }
+
     @GetMapping("/search")
-    public ResponseEntity<List<Movie>> searchMovies(@RequestParam(required = false) String query) {
+    public ResponseEntity<List<?>> searchMovies(@RequestParam(required = false) String query,
+                                                @RequestParam(required = false) String fields,
+                                                @RequestParam(required = false) String view) {
+        Optional<List<String>> projection = MovieProjection.resolve(fields, view);
+
         // Try to consume one token. If no token is available, rate limit by returning 429.
         if (!searchBucket.tryConsume(1)) {
             return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
@@ -104,7 +161,64 @@ public class MovieController {
 
         logger.info("Controller received search request for query: {}", query);
         List<Movie> movies = movieAPIService.fetchMoviesBySearchQuery(query);
-        return ResponseEntity.ok(movies);
+        return ResponseEntity.ok(project(movies, projection));
+    }
+
+    // ✅ Same search, but every movie is pushed as a "movie" event as soon as it is enriched,
+    // followed by a "complete" event with the count (or an "error" event for an invalid query)
+    @GetMapping(value = "/search/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamSearch(@RequestParam(required = false) String query,
+                                                   @RequestParam(required = false) String fields,
+                                                   @RequestParam(required = false) String view) {
+        Optional<List<String>> projection = MovieProjection.resolve(fields, view);
+
+        if (!searchBucket.tryConsume(1)) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+
+        logger.info("Controller received streaming search request for query: {}", query);
+        SseEmitter emitter = new SseEmitter(SEARCH_STREAM_TIMEOUT.toMillis());
+        searchStreamExecutor.execute(() -> {
+            try {
+                List<Movie> movies = movieAPIService.fetchMoviesBySearchQuery(query, movie -> sendEvent(emitter, "movie",
+                        projection.<Object>map(p -> MovieProjection.project(movie, p)).orElse(movie)));
+                sendEvent(emitter, "complete", Map.of("count", movies.size()));
+                emitter.complete();
+            } catch (InvalidSearchQueryException e) {
+                sendEvent(emitter, "error", Map.of("error", e.getMessage()));
+                emitter.complete();
+            } catch (Exception e) {
+                System.out.println("Streaming search failed: " + e.getMessage());
+                emitter.completeWithError(e);
+            }
+        });
+        return ResponseEntity.ok(emitter);
+    }
+
+    // a client that went away must not stop the search, its results are still stored
+    private static void sendEvent(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            System.out.println("Could not send " + name + " event: " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdownSearchStreams() {
+        searchStreamExecutor.shutdown();
+    }
+
+    // daily and search results come from memory or upstream, so they are only trimmed for the response
+    private static List<?> project(List<Movie> movies, Optional<List<String>> projection) {
+        return projection.<List<?>>map(fields -> MovieProjection.project(movies, fields)).orElse(movies);
+    }
+
+    // served from memory, so it is not rate limited like /search
+    @GetMapping("/autocomplete")
+    public List<String> autocomplete(@RequestParam(defaultValue = "") String prefix,
+                                     @RequestParam(defaultValue = "10") int limit) {
+        return autocompleteService.suggest(prefix, limit);
     }
 }
 
@@ -5,23 +5,25 @@ import org.example.backend.exceptions.UnauthorizedException;
 import org.example.backend.exceptions.UserNotFoundException;
 import org.example.backend.model.User;
 import org.example.backend.repo.UserRepo;
+import org.example.backend.service.UserService;
+import org.example.backend.service.WatchlistWriteBuffer;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-
 @RestController
 @RequestMapping("/api/users")
 public class UserController {
 
     private final UserRepo userRepo;
+    private final UserService userService;
+    private final WatchlistWriteBuffer watchlistWriteBuffer;
 
-    public UserController(UserRepo userRepo) {
+    public UserController(UserRepo userRepo, UserService userService, WatchlistWriteBuffer watchlistWriteBuffer) {
         this.userRepo = userRepo;
+        this.userService = userService;
+        this.watchlistWriteBuffer = watchlistWriteBuffer;
     }
 
     @GetMapping(value = "active", produces = "text/plain")
@@ -36,10 +38,8 @@ public class UserController {
     }
 
 
-    private static final Map<String, Object> userLocks = new ConcurrentHashMap<>();
-
     @PostMapping("save/{userId}")
-    public synchronized String saveActiveUser(@PathVariable String userId) {
+    public String saveActiveUser(@PathVariable String userId) {
         Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
         String userName = null;
 
@@ -60,27 +60,15 @@ public class UserController {
             throw new AuthException("Unauthorized: User ID mismatch!");
         }
 
-        userLocks.putIfAbsent(userId, new Object());
-        synchronized (userLocks.get(userId)) {
-            try {
-                String finalUserName = userName;
-                return userRepo.findByGithubId(userId)
-                        .map(existingUser -> {
-                            return userId; // User already exists
-                        })
-                        .orElseGet(() -> {
-                            userRepo.save(new User(null, userId, finalUserName, List.of()));
-                            return userId;
-                        });
-            } finally {
-                userLocks.remove(userId); // Clean up lock object to prevent memory leaks
-            }
-        }
+        // ✅ Idempotent upsert, concurrent logins of the same user end up with one document
+        userService.registerUser(userId, userName);
+        return userId;
     }
 
     @GetMapping("active/{userId}")
     public User getActiveUser(@PathVariable String userId) {
         return userRepo.findByGithubId(userId)
+                .map(watchlistWriteBuffer::applyPending) // ✅ include watchlist changes that are not flushed yet
                 .orElseThrow(() -> new UserNotFoundException("User with ID " + userId + " not found in database."));
     }
 
@@ -1,5 +1,6 @@
 package org.example.backend.controller;
 
+import org.example.backend.dtos.WatchlistWithMovies;
 import org.example.backend.service.WatchlistService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -17,6 +18,13 @@ public class WatchlistController {
         this.watchlistService = watchlistService;
     }
 
+    // ✅ Watchlist with the movies embedded
+    @GetMapping("/{githubId}")
+    public WatchlistWithMovies getWatchlist(@PathVariable String githubId) {
+        System.out.println("Received request for watchlist with movies for user " + githubId);
+        return watchlistService.getWatchlistWithMovies(githubId);
+    }
+
     // ✅ Check if a movie is in the watchlist
     @GetMapping("/{githubId}/{movieSlug}")
     public ResponseEntity<Map<String, Boolean>> isMovieInWatchlist(@PathVariable String githubId, @PathVariable String movieSlug) {
@@ -0,0 +1,8 @@
+package org.example.backend.dtos;
+
+import org.example.backend.model.Movie;
+
+import java.util.List;
+
+// movies in the requested order, slugs that are not stored are listed separately
+public record MovieBatch(List<Movie> movies, List<String> missing) {}
@@ -0,0 +1,6 @@
+package org.example.backend.dtos;
+
+import java.util.List;
+
+// written as one NDJSON line per batch while an import runs, the last one has done=true
+public record MovieImportProgress(long lines, long upserted, long modified, long failed, List<String> errors, boolean done) {}
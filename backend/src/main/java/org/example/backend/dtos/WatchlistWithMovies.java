@@ -0,0 +1,8 @@
+package org.example.backend.dtos;
+
+import org.example.backend.model.Movie;
+
+import java.util.List;
+
+// favorites keep the user's order, missing holds favorites whose movie is no longer stored
+public record WatchlistWithMovies(String githubId, List<String> favorites, List<Movie> movies, List<String> missing) {}
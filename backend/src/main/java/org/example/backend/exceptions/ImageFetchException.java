@@ -0,0 +1,11 @@
+package org.example.backend.exceptions;
+
+public class ImageFetchException extends RuntimeException {
+    public ImageFetchException(String message) {
+        super(message);
+    }
+
+    public ImageFetchException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
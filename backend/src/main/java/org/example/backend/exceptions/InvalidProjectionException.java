@@ -0,0 +1,7 @@
+package org.example.backend.exceptions;
+
+public class InvalidProjectionException extends RuntimeException {
+    public InvalidProjectionException(String message) {
+        super(message);
+    }
+}
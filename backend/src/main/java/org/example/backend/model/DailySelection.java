@@ -0,0 +1,21 @@
+package org.example.backend.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+// written once per calendar date and never updated, id is the ISO date
+@Document(collection = "daily_selections")
+public record DailySelection(
+        @Id String id,
+        LocalDate date,
+        List<String> slugs,
+        Instant generatedAt
+) {
+    public static DailySelection of(LocalDate date, List<String> slugs, Instant generatedAt) {
+        return new DailySelection(date.toString(), date, List.copyOf(slugs), generatedAt);
+    }
+}
@@ -1,24 +1,26 @@
 package org.example.backend.model;
 
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
 import org.springframework.data.annotation.Id;
 
 import java.time.LocalDate;
 import java.util.List;
 
+// stored in the compact layout of MovieStorageFormat
 @Document(collection = "movies")
 public record Movie(
         @Id String id,
-        int netzkinoId,
-        String slug,
-        String title,
-        String year,
-        String overview,
-        String regisseur,
-        String stars,
-        String imgNetzkino,
-        String imgNetzkinoSmall,
-        String imgImdb,
-        List<String> queries,
-        List<LocalDate> dateFetched
+        @Field("n") int netzkinoId,
+        @Field("s") String slug,
+        @Field("t") String title,
+        @Field("y") String year,
+        @Field("o") String overview,
+        @Field("r") String regisseur,
+        @Field("a") String stars,
+        @Field("in") String imgNetzkino,
+        @Field("is") String imgNetzkinoSmall,
+        @Field("ii") String imgImdb,
+        @Field("q") List<String> queries,
+        @Field("d") List<LocalDate> dateFetched
 ) {}
@@ -0,0 +1,15 @@
+package org.example.backend.repo;
+
+import org.example.backend.model.DailySelection;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface DailySelectionRepo extends MongoRepository<DailySelection, String> {
+
+    // ids are ISO dates, so ordering by id is ordering by date
+    List<DailySelection> findByIdLessThanOrderByIdDesc(String id, Limit limit);
+}
@@ -2,24 +2,41 @@ package org.example.backend.repo;
 
 import org.example.backend.model.Movie;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.ReadPreference;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface MovieRepo extends MongoRepository<Movie, String> {
+public interface MovieRepo extends MongoRepository<Movie, String>, MovieRepoCustom {
 
-    boolean existsBySlug(String slug);
+    // the slug is stored as the id, only a movie whose id differs keeps it in its own field
+    default boolean existsBySlug(String slug) {
+        return existsByIdOrSlug(slug, slug);
+    }
 
-    void deleteBySlug(String slug);
+    default void deleteBySlug(String slug) {
+        findFirstByIdOrSlug(slug, slug).ifPresent(this::delete);
+    }
 
-    Optional<Movie> findBySlug(String slug);
+    default Optional<Movie> findBySlug(String slug) {
+        return findFirstByIdOrSlug(slug, slug);
+    }
 
-    Optional<List<Movie>> findByDateFetchedContaining(LocalDate dateFetched);
+    // one $in query for a whole batch of slugs, in no particular order
+    default List<Movie> findBySlugIn(Collection<String> slugs) {
+        return findByIdInOrSlugIn(slugs, slugs);
+    }
 
-    Optional<List<Movie>> findByQueriesContaining(String query);
+    boolean existsByIdOrSlug(String id, String slug);
 
+    Optional<Movie> findFirstByIdOrSlug(String id, String slug);
 
+    List<Movie> findByIdInOrSlugIn(Collection<String> ids, Collection<String> slugs);
+
+    // ✅ for reads that decide a write, a secondary may not have the latest write yet
+    @ReadPreference("primary")
+    List<Movie> findByIdIn(Collection<String> ids);
 }
@@ -0,0 +1,22 @@
+package org.example.backend.repo;
+
+import org.example.backend.model.Movie;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Movie queries on fields other than the id. While documents in the legacy layout of
+ * MovieStorageFormat can still be stored they match both field names, see MovieRepoCustomImpl.
+ */
+public interface MovieRepoCustom {
+
+    Optional<List<Movie>> findByQueriesContaining(String query);
+
+    // only the given properties (and the id, which stands in for an unstored slug) are read
+    List<Movie> findAllWithFields(Collection<String> properties);
+
+    // slugs of the movies that already have a TMDB image
+    List<String> findEnrichedSlugs();
+}
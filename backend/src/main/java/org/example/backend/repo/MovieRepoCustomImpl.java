@@ -0,0 +1,95 @@
+package org.example.backend.repo;
+
+import org.bson.Document;
+import org.example.backend.model.Movie;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/**
+ * Runs the field queries against the stored names instead of mapping them through Movie, whose
+ * short names would never match a legacy document. Legacy documents are expected while the
+ * migration is switched off or movies are still written in the legacy format; criteria and
+ * projections then cover both names, otherwise only the short ones so the indexes on them are used.
+ * Results are expanded like any other load.
+ */
+public class MovieRepoCustomImpl implements MovieRepoCustom {
+
+    private static final String MOVIES = "movies";
+
+    private final MongoTemplate primaryTemplate;
+    private final MongoTemplate movieTemplate;
+    private final boolean legacyDocuments;
+
+    public MovieRepoCustomImpl(MongoTemplate primaryTemplate,
+                               @Qualifier("movieMongoTemplate") MongoTemplate movieTemplate,
+                               @Value("${movies.storage.migrate:true}") boolean migrate,
+                               @Value("${movies.storage.write-format:compact}") String writeFormat) {
+        this.primaryTemplate = primaryTemplate;
+        this.movieTemplate = movieTemplate;
+        this.legacyDocuments = !migrate || MovieStorageFormat.WriteFormat.of(writeFormat) == MovieStorageFormat.WriteFormat.LEGACY;
+    }
+
+    // MoviePersistenceQueue stops answering for a query once the primary has acknowledged its movies,
+    // so this lookup stays on the primary even when the other movie reads go to secondaries
+    @Override
+    public Optional<List<Movie>> findByQueriesContaining(String query) {
+        return Optional.of(find(primaryTemplate, Query.query(matching(MovieStorageFormat.QUERIES, field -> field.is(query)))));
+    }
+
+    @Override
+    public List<Movie> findAllWithFields(Collection<String> properties) {
+        Query query = new Query();
+        Set<String> stored = new LinkedHashSet<>();
+        properties.forEach(property -> stored.addAll(storedNames(property)));
+        query.fields().include(stored.toArray(String[]::new));
+        if (!properties.contains("id") && !properties.contains("slug")) {
+            query.fields().exclude(MovieStorageFormat.ID);
+        }
+        return find(movieTemplate, query);
+    }
+
+    @Override
+    public List<String> findEnrichedSlugs() {
+        Query enriched = Query.query(matching(MovieStorageFormat.IMG_IMDB, field -> field.nin(null, "", "N/A")));
+        enriched.fields().include(storedNames("slug").toArray(String[]::new));
+        return find(movieTemplate, enriched).stream().map(Movie::slug).toList();
+    }
+
+    private List<Movie> find(MongoTemplate template, Query query) {
+        return template.find(query, Document.class, MOVIES).stream()
+                .map(document -> {
+                    MovieStorageFormat.expand(document);
+                    // a projection without the primitive netzkinoId could not be mapped to Movie otherwise
+                    document.putIfAbsent(MovieStorageFormat.NETZKINO_ID, 0);
+                    return template.getConverter().read(Movie.class, document);
+                })
+                .toList();
+    }
+
+    private Criteria matching(String field, UnaryOperator<Criteria> condition) {
+        if (!legacyDocuments) {
+            return condition.apply(Criteria.where(field));
+        }
+        return new Criteria().orOperator(condition.apply(Criteria.where(field)),
+                condition.apply(Criteria.where(MovieStorageFormat.legacyName(field))));
+    }
+
+    // the stored names of a Movie property, whose legacy name is the property name itself
+    private List<String> storedNames(String property) {
+        if (property.equals("id")) {
+            return List.of(MovieStorageFormat.ID);
+        }
+        String field = MovieStorageFormat.LEGACY_NAMES.getOrDefault(property, property);
+        return legacyDocuments && !field.equals(property) ? List.of(field, property) : List.of(field);
+    }
+}
@@ -0,0 +1,173 @@
+package org.example.backend.repo;
+
+import org.bson.Document;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * How movies are laid out in the movies collection. Fields use the short names declared on Movie,
+ * the slug is only stored when it differs from the id, and image URLs on a known host are stored
+ * as the host's id plus the path after it ("1:/abc.jpg"). Documents written before this format
+ * used the long property names and full URLs; expand() accepts both, so they stay readable until
+ * MovieStorageMigration has rewritten them. Instances from before the compact format only read
+ * the long names, so while any of them are still running, movies.storage.write-format=legacy
+ * keeps new writes in the old layout (and holds back the migration) until it is flipped.
+ */
+public final class MovieStorageFormat {
+
+    public static final String ID = "_id";
+    public static final String SLUG = "s";
+    public static final String NETZKINO_ID = "n";
+    public static final String TITLE = "t";
+    public static final String YEAR = "y";
+    public static final String OVERVIEW = "o";
+    public static final String REGISSEUR = "r";
+    public static final String STARS = "a";
+    public static final String IMG_NETZKINO = "in";
+    public static final String IMG_NETZKINO_SMALL = "is";
+    public static final String IMG_IMDB = "ii";
+    public static final String QUERIES = "q";
+    public static final String DATE_FETCHED = "d";
+
+    // property names the fields were stored under before the compact format
+    public static final Map<String, String> LEGACY_NAMES = Map.ofEntries(
+            Map.entry("slug", SLUG),
+            Map.entry("netzkinoId", NETZKINO_ID),
+            Map.entry("title", TITLE),
+            Map.entry("year", YEAR),
+            Map.entry("overview", OVERVIEW),
+            Map.entry("regisseur", REGISSEUR),
+            Map.entry("stars", STARS),
+            Map.entry("imgNetzkino", IMG_NETZKINO),
+            Map.entry("imgNetzkinoSmall", IMG_NETZKINO_SMALL),
+            Map.entry("imgImdb", IMG_IMDB),
+            Map.entry("queries", QUERIES),
+            Map.entry("dateFetched", DATE_FETCHED));
+
+    private static final List<String> IMAGES = List.of(IMG_NETZKINO, IMG_NETZKINO_SMALL, IMG_IMDB);
+
+    public enum WriteFormat {
+        COMPACT, LEGACY;
+
+        public static WriteFormat of(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    public enum ImageHost {
+        TMDB(1, "https://image.tmdb.org/t/p/original"),
+        NETZKINO(2, "https://pmd.netzkino-seite.netzkino.de/wp-content/uploads/");
+
+        private final int id;
+        private final String prefix;
+
+        ImageHost(int id, String prefix) {
+            this.id = id;
+            this.prefix = prefix;
+        }
+
+        static ImageHost byId(int id) {
+            for (ImageHost host : values()) {
+                if (host.id == id) {
+                    return host;
+                }
+            }
+            return null;
+        }
+    }
+
+    private MovieStorageFormat() {}
+
+    /**
+     * Turns a document as Spring Data wrote it into the stored form, in place.
+     */
+    public static Document compact(Document document) {
+        document.remove("_class");
+        if (document.get(SLUG) != null && document.get(SLUG).equals(document.get(ID))) {
+            document.remove(SLUG);
+        }
+        IMAGES.forEach(field -> {
+            if (document.get(field) instanceof String url) {
+                document.put(field, compactImage(url));
+            }
+        });
+        if (document.get(DATE_FETCHED) instanceof List<?> dates && dates.isEmpty()) {
+            document.remove(DATE_FETCHED);
+        }
+        return document;
+    }
+
+    /**
+     * Turns a stored document, compact or legacy, into the form Spring Data reads, in place.
+     */
+    public static Document expand(Document document) {
+        LEGACY_NAMES.forEach((legacy, field) -> {
+            if (document.containsKey(legacy)) {
+                Object value = document.remove(legacy);
+                document.putIfAbsent(field, value);
+            }
+        });
+        if (document.get(SLUG) == null && document.get(ID) instanceof String id) {
+            document.put(SLUG, id);
+        }
+        IMAGES.forEach(field -> {
+            if (document.get(field) instanceof String ref) {
+                document.put(field, expandImage(ref));
+            }
+        });
+        return document;
+    }
+
+    /**
+     * Turns a document as Spring Data wrote it into the layout instances without the compact
+     * format read, in place: long property names, full image URLs and an explicit slug.
+     */
+    public static Document legacy(Document document) {
+        if (document.get(SLUG) == null && document.get(ID) instanceof String id) {
+            document.put(SLUG, id);
+        }
+        LEGACY_NAMES.forEach((legacy, field) -> {
+            if (document.containsKey(field)) {
+                document.put(legacy, document.remove(field));
+            }
+        });
+        return document;
+    }
+
+    public static String legacyName(String field) {
+        return LEGACY_NAMES.entrySet().stream()
+                .filter(entry -> entry.getValue().equals(field))
+                .map(Map.Entry::getKey)
+                .findFirst()
+                .orElse(field);
+    }
+
+    public static boolean isLegacy(Document document) {
+        return document.containsKey("_class") || LEGACY_NAMES.keySet().stream().anyMatch(document::containsKey);
+    }
+
+    // URLs on other hosts, "" and "N/A" are kept as they are
+    static String compactImage(String url) {
+        for (ImageHost host : ImageHost.values()) {
+            if (url.startsWith(host.prefix)) {
+                return host.id + ":" + url.substring(host.prefix.length());
+            }
+        }
+        return url;
+    }
+
+    static String expandImage(String ref) {
+        int colon = ref.indexOf(':');
+        if (colon < 1 || colon > 2 || !Character.isDigit(ref.charAt(0))) {
+            return ref;
+        }
+        try {
+            ImageHost host = ImageHost.byId(Integer.parseInt(ref.substring(0, colon)));
+            return host == null ? ref : host.prefix + ref.substring(colon + 1);
+        } catch (NumberFormatException e) {
+            return ref;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.backend.repo;
+
+import org.example.backend.model.Movie;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterLoadEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies MovieStorageFormat to every movie document the templates write or read. Writes use the
+ * legacy layout while movies.storage.write-format=legacy, so instances that predate the compact
+ * format can still read them during a rolling deploy.
+ */
+@Component
+public class MovieStorageListener extends AbstractMongoEventListener<Movie> {
+
+    private final MovieStorageFormat.WriteFormat writeFormat;
+
+    public MovieStorageListener(@Value("${movies.storage.write-format:compact}") String writeFormat) {
+        this.writeFormat = MovieStorageFormat.WriteFormat.of(writeFormat);
+    }
+
+    @Override
+    public void onBeforeSave(BeforeSaveEvent<Movie> event) {
+        if (event.getDocument() == null) {
+            return;
+        }
+        if (writeFormat == MovieStorageFormat.WriteFormat.LEGACY) {
+            MovieStorageFormat.legacy(event.getDocument());
+        } else {
+            MovieStorageFormat.compact(event.getDocument());
+        }
+    }
+
+    // ✅ runs on the raw document before it is mapped, so legacy documents read like compact ones
+    @Override
+    public void onAfterLoad(AfterLoadEvent<Movie> event) {
+        MovieStorageFormat.expand(event.getDocument());
+    }
+}
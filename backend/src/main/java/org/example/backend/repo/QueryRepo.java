@@ -2,6 +2,7 @@ package org.example.backend.repo;
 
 import org.example.backend.model.Query;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.ReadPreference;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -9,6 +10,8 @@ import java.util.Optional;
 @Repository
 public interface QueryRepo extends MongoRepository<Query, String> {
 
+    // decides whether the query is saved, so it reads from the primary
+    @ReadPreference("primary")
     boolean existsByQuery(String query);
 
     void deleteByQuery(String query);
@@ -1,10 +1,15 @@
 package org.example.backend.repo;
 
+import org.example.backend.cache.CacheConfig;
 import org.example.backend.model.User;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 import java.util.Optional;
 
 public interface UserRepo extends MongoRepository<User, String> {
+
+    // kept current by UserCacheListener on every save, so repeated lookups per page view hit memory
+    @Cacheable(cacheNames = CacheConfig.USERS, unless = "#result == null")
     Optional<User> findByGithubId(String githubId);
 }
@@ -0,0 +1,40 @@
+package org.example.backend.search;
+
+import org.bson.Document;
+import org.example.backend.model.Movie;
+import org.example.backend.service.AutocompleteService;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the autocomplete index in sync with every write to the movies collection,
+ * including the bulk saveAll done by the fetch pipeline.
+ */
+@Component
+public class AutocompleteIndexListener extends AbstractMongoEventListener<Movie> {
+
+    private final AutocompleteService autocompleteService;
+
+    public AutocompleteIndexListener(AutocompleteService autocompleteService) {
+        this.autocompleteService = autocompleteService;
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Movie> event) {
+        autocompleteService.indexMovie(event.getSource());
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Movie> event) {
+        Document query = event.getSource();
+        // id and slug are the same value for movies
+        Object slug = query.containsKey("slug") ? query.get("slug") : query.get("_id");
+        if (slug instanceof String s) {
+            autocompleteService.removeMovie(s);
+        } else {
+            autocompleteService.rebuild();
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package org.example.backend.search;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Prefix tree that keeps the best suggestions of every subtree cached on its node,
+ * so a lookup only walks the prefix and never scans the subtree below it.
+ * Several keys may point to the same suggestion (e.g. every word of a title).
+ */
+public class CompletionTrie {
+
+    private final int maxSuggestions;
+    private final Node root = new Node();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int size;
+
+    public CompletionTrie(int maxSuggestions) {
+        if (maxSuggestions < 1) {
+            throw new IllegalArgumentException("maxSuggestions must be at least 1");
+        }
+        this.maxSuggestions = maxSuggestions;
+    }
+
+    /**
+     * Adds a weighted suggestion under the given key. Adding the same pair again sums the weights.
+     */
+    public void add(String key, String suggestion, int weight) {
+        if (key == null || key.isEmpty() || suggestion == null || weight <= 0) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Deque<Node> path = new ArrayDeque<>();
+            Node node = root;
+            path.push(node);
+            for (int i = 0; i < key.length(); i++) {
+                node = node.childOrCreate(key.charAt(i));
+                path.push(node);
+            }
+            if (node.terminals.isEmpty()) {
+                size++;
+            }
+            node.terminals.merge(suggestion, weight, Integer::sum);
+            refreshTop(path);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Lowers the weight of a suggestion under the given key and drops it once it reaches zero.
+     */
+    public void remove(String key, String suggestion, int weight) {
+        if (key == null || key.isEmpty() || suggestion == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Deque<Node> path = new ArrayDeque<>();
+            Node node = root;
+            path.push(node);
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+                if (node != null) {
+                    path.push(node);
+                }
+            }
+            if (node == null || !node.terminals.containsKey(suggestion)) {
+                return;
+            }
+            node.terminals.computeIfPresent(suggestion, (s, w) -> w - weight > 0 ? w - weight : null);
+            if (node.terminals.isEmpty()) {
+                size--;
+            }
+            prune(key, path);
+            refreshTop(path);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} suggestions for keys starting with the prefix, best weight first.
+     */
+    public List<String> complete(String prefix, int limit) {
+        if (prefix == null || prefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.child(prefix.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            return Arrays.stream(node.top)
+                    .limit(limit)
+                    .map(Entry::suggestion)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            root.labels = new char[0];
+            root.children = new Node[0];
+            root.terminals.clear();
+            root.top = new Entry[0];
+            size = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Number of distinct keys currently stored.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void prune(String key, Deque<Node> path) {
+        Iterator<Node> it = path.iterator();
+        Node child = it.next();
+        for (int depth = key.length() - 1; it.hasNext() && depth >= 0; depth--) {
+            Node parent = it.next();
+            if (!child.terminals.isEmpty() || child.children.length > 0) {
+                return;
+            }
+            parent.removeChild(key.charAt(depth));
+            child = parent;
+        }
+    }
+
+    // Recomputes the cached top entries bottom-up along the path that was just modified.
+    private void refreshTop(Deque<Node> path) {
+        for (Node node : path) {
+            Map<String, Integer> best = new HashMap<>(node.terminals);
+            for (Node child : node.children) {
+                for (Entry entry : child.top) {
+                    best.merge(entry.suggestion(), entry.weight(), Math::max);
+                }
+            }
+            node.top = best.entrySet().stream()
+                    .map(e -> new Entry(e.getKey(), e.getValue()))
+                    .sorted(Comparator.comparingInt(Entry::weight).reversed().thenComparing(Entry::suggestion))
+                    .limit(maxSuggestions)
+                    .toArray(Entry[]::new);
+        }
+    }
+
+    private record Entry(String suggestion, int weight) {}
+
+    // Children are kept in sorted parallel arrays instead of a map to keep nodes small.
+    private static final class Node {
+        private char[] labels = new char[0];
+        private Node[] children = new Node[0];
+        private final Map<String, Integer> terminals = new HashMap<>(2);
+        private Entry[] top = new Entry[0];
+
+        Node child(char c) {
+            int idx = Arrays.binarySearch(labels, c);
+            return idx >= 0 ? children[idx] : null;
+        }
+
+        Node childOrCreate(char c) {
+            int idx = Arrays.binarySearch(labels, c);
+            if (idx >= 0) {
+                return children[idx];
+            }
+            int insertAt = -idx - 1;
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newLabels[insertAt] = c;
+            newChildren[insertAt] = new Node();
+            System.arraycopy(labels, insertAt, newLabels, insertAt + 1, labels.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            labels = newLabels;
+            children = newChildren;
+            return newChildren[insertAt];
+        }
+
+        void removeChild(char c) {
+            int idx = Arrays.binarySearch(labels, c);
+            if (idx < 0) {
+                return;
+            }
+            char[] newLabels = new char[labels.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(labels, 0, newLabels, 0, idx);
+            System.arraycopy(children, 0, newChildren, 0, idx);
+            System.arraycopy(labels, idx + 1, newLabels, idx, labels.length - idx - 1);
+            System.arraycopy(children, idx + 1, newChildren, idx, children.length - idx - 1);
+            labels = newLabels;
+            children = newChildren;
+        }
+    }
+}
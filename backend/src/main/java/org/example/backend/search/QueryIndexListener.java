@@ -0,0 +1,22 @@
+package org.example.backend.search;
+
+import org.example.backend.model.Query;
+import org.example.backend.service.AutocompleteService;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+@Component
+public class QueryIndexListener extends AbstractMongoEventListener<Query> {
+
+    private final AutocompleteService autocompleteService;
+
+    public QueryIndexListener(AutocompleteService autocompleteService) {
+        this.autocompleteService = autocompleteService;
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Query> event) {
+        autocompleteService.indexQuery(event.getSource().query());
+    }
+}
@@ -2,12 +2,15 @@ package org.example.backend.security;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
 
 import static org.springframework.security.config.Customizer.withDefaults;
 
@@ -15,14 +18,40 @@ import static org.springframework.security.config.Customizer.withDefaults;
 @EnableWebSecurity
 public class SecurityConfig {
 
+    // ✅ Public reads never touch the session, so anonymous traffic creates no server-side state
     @Bean
+    @Order(1)
+    public SecurityFilterChain publicReadFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher(new OrRequestMatcher(
+                        new AntPathRequestMatcher("/api/movies/**", "GET"),
+                        new AntPathRequestMatcher("/api/images/**", "GET"),
+                        new AntPathRequestMatcher("/actuator/health/**", "GET")
+                ))
+                .csrf(csrf -> csrf.disable())
+                .authorizeHttpRequests(authorize -> authorize
+                        .anyRequest().permitAll()
+                )
+                .sessionManagement(sessions -> sessions.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .requestCache(cache -> cache.disable());
+
+        return http.build();
+    }
+
+    @Bean
+    @Order(2)
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
 
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(authorize -> authorize
+                        // ✅ the bulk import overwrites stored movies, only signed-in users may run it
+                        .requestMatchers(new AntPathRequestMatcher("/api/movies/import", "POST")).authenticated()
                         .anyRequest().permitAll()
                 )
+                // API clients get a 401 instead of a redirect to the OAuth2 login page
+                .exceptionHandling(exceptions -> exceptions.defaultAuthenticationEntryPointFor(
+                        new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED), new AntPathRequestMatcher("/api/**")))
 
                 .logout(logout -> logout
                         .logoutRequestMatcher(new AntPathRequestMatcher("/api/users/logout", "GET")) // Allow logout via GET
@@ -31,7 +60,8 @@ public class SecurityConfig {
                 )
 
 
-                .sessionManagement(sessions -> sessions.sessionCreationPolicy(SessionCreationPolicy.ALWAYS))
+                // sessions only exist once the OAuth2 login needs one, and live in the shared session store
+                .sessionManagement(sessions -> sessions.sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED))
 
                 .oauth2Login(withDefaults());
 
@@ -0,0 +1,27 @@
+package org.example.backend.security;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.session.MapSession;
+import org.springframework.session.MapSessionRepository;
+import org.springframework.session.SessionRepository;
+import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Login sessions are stored in Mongo by Spring Boot's session auto-configuration, so any instance
+ * can serve any user and no sticky sessions are needed. session.store=memory swaps in a local map,
+ * which is what the tests use.
+ */
+@Configuration
+@ConditionalOnProperty(name = "session.store", havingValue = "memory")
+@EnableSpringHttpSession
+public class SessionConfig {
+
+    @Bean
+    public SessionRepository<MapSession> sessionRepository() {
+        return new MapSessionRepository(new ConcurrentHashMap<>());
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.backend.service;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Walker/Vose alias table: O(n) to build, O(1) per weighted sample. Samples are driven by the
+ * caller's index and coin values, so a hashed seed gives the same pick on every node.
+ */
+public final class AliasTable<T> {
+
+    private final List<T> items;
+    private final double[] probability;
+    private final int[] alias;
+
+    public AliasTable(List<T> items, double[] weights) {
+        if (items.isEmpty() || items.size() != weights.length) {
+            throw new IllegalArgumentException("items and weights must be non-empty and of equal length");
+        }
+        int n = weights.length;
+        double total = 0;
+        for (double weight : weights) {
+            if (weight < 0 || Double.isNaN(weight)) {
+                throw new IllegalArgumentException("weights must not be negative");
+            }
+            total += weight;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("at least one weight must be positive");
+        }
+
+        this.items = List.copyOf(items);
+        this.probability = new double[n];
+        this.alias = new int[n];
+
+        double[] scaled = new double[n];
+        Deque<Integer> small = new ArrayDeque<>();
+        Deque<Integer> large = new ArrayDeque<>();
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / total;
+            (scaled[i] < 1.0 ? small : large).push(i);
+        }
+        while (!small.isEmpty() && !large.isEmpty()) {
+            int less = small.pop();
+            int more = large.pop();
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1.0;
+            (scaled[more] < 1.0 ? small : large).push(more);
+        }
+        // leftovers are 1.0 up to rounding
+        large.forEach(i -> probability[i] = 1.0);
+        small.forEach(i -> probability[i] = 1.0);
+    }
+
+    /**
+     * @param index any int, reduced to a column
+     * @param coin  a value in [0, 1)
+     */
+    public T sample(int index, double coin) {
+        int column = Math.floorMod(index, probability.length);
+        return items.get(coin < probability[column] ? column : alias[column]);
+    }
+
+    public int size() {
+        return items.size();
+    }
+}
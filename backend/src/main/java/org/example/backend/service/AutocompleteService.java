@@ -0,0 +1,140 @@
+package org.example.backend.service;
+
+import org.example.backend.model.Movie;
+import org.example.backend.model.Query;
+import org.example.backend.repo.MovieRepo;
+import org.example.backend.repo.QueryRepo;
+import org.example.backend.search.CompletionTrie;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class AutocompleteService {
+
+    private static final int TITLE_WEIGHT = 2;
+    private static final int QUERY_WEIGHT = 1;
+
+    private final MovieRepo movieRepo;
+    private final QueryRepo queryRepo;
+    private final CompletionTrie trie;
+    private final int maxSuggestions;
+
+    // remembers what was indexed per slug, so updates and deletes don't need to read the old document
+    private final Map<String, List<IndexEntry>> indexedBySlug = new ConcurrentHashMap<>();
+    private final Set<String> indexedQueries = ConcurrentHashMap.newKeySet();
+    // ✅ suggestions are indexed normalized, so "Batman" and "batman" are one entry; this keeps how
+    // the title is written for display, as long as a movie with that title is indexed
+    private final Map<String, TitleForm> titleForms = new ConcurrentHashMap<>();
+
+    public AutocompleteService(MovieRepo movieRepo, QueryRepo queryRepo, @Value("${autocomplete.max-suggestions:10}") int maxSuggestions) {
+        this.movieRepo = movieRepo;
+        this.queryRepo = queryRepo;
+        this.maxSuggestions = maxSuggestions;
+        this.trie = new CompletionTrie(maxSuggestions);
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        return trie.complete(normalized, Math.min(limit, maxSuggestions)).stream()
+                .map(suggestion -> Optional.ofNullable(titleForms.get(suggestion)).map(TitleForm::display).orElse(suggestion))
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        System.out.println("Building autocomplete index...");
+        trie.clear();
+        indexedBySlug.clear();
+        indexedQueries.clear();
+        titleForms.clear();
+        try {
+            movieRepo.findAll().forEach(this::indexMovie);
+            queryRepo.findAll().stream().map(Query::query).forEach(this::indexQuery);
+            System.out.println("Autocomplete index contains " + trie.size() + " keys.");
+        } catch (Exception e) {
+            System.out.println("Failed to build autocomplete index: " + e.getMessage());
+        }
+    }
+
+    public synchronized void indexMovie(Movie movie) {
+        if (movie == null || movie.slug() == null) {
+            return;
+        }
+        removeMovie(movie.slug());
+
+        List<IndexEntry> entries = new ArrayList<>();
+        if (movie.title() != null && !movie.title().isBlank()) {
+            String title = normalize(movie.title());
+            for (String key : titleKeys(title)) {
+                entries.add(new IndexEntry(key, title, TITLE_WEIGHT));
+            }
+            titleForms.merge(title, new TitleForm(movie.title().trim().replaceAll("\\s+", " "), 1),
+                    (current, added) -> new TitleForm(current.display(), current.count() + 1));
+        }
+        Optional.ofNullable(movie.queries()).orElse(List.of()).stream()
+                .map(AutocompleteService::normalize)
+                .filter(q -> !q.isEmpty())
+                .distinct()
+                .forEach(q -> entries.add(new IndexEntry(q, q, QUERY_WEIGHT)));
+
+        entries.forEach(e -> trie.add(e.key(), e.suggestion(), e.weight()));
+        indexedBySlug.put(movie.slug(), entries);
+    }
+
+    public synchronized void removeMovie(String slug) {
+        List<IndexEntry> entries = indexedBySlug.remove(slug);
+        if (entries != null) {
+            entries.forEach(e -> trie.remove(e.key(), e.suggestion(), e.weight()));
+            entries.stream()
+                    .filter(e -> e.weight() == TITLE_WEIGHT)
+                    .map(IndexEntry::suggestion)
+                    .findFirst()
+                    .ifPresent(title -> titleForms.computeIfPresent(title,
+                            (t, form) -> form.count() > 1 ? new TitleForm(form.display(), form.count() - 1) : null));
+        }
+    }
+
+    public Set<String> indexedSlugs() {
+        return Set.copyOf(indexedBySlug.keySet());
+    }
+
+    public synchronized void indexQuery(String query) {
+        String normalized = normalize(query);
+        if (!normalized.isEmpty() && indexedQueries.add(normalized)) {
+            trie.add(normalized, normalized, QUERY_WEIGHT);
+        }
+    }
+
+    // "the dark knight" is reachable via "the dark knight", "dark knight" and "knight"
+    private static Set<String> titleKeys(String normalized) {
+        Set<String> keys = new LinkedHashSet<>();
+        keys.add(normalized);
+        for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+            String suffix = normalized.substring(i + 1);
+            if (!suffix.isEmpty()) {
+                keys.add(suffix);
+            }
+        }
+        return keys;
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    private record IndexEntry(String key, String suggestion, int weight) {}
+
+    // the first indexed spelling of a title and how many indexed movies carry it
+    private record TitleForm(String display, int count) {}
+}
@@ -0,0 +1,116 @@
+package org.example.backend.service;
+
+import org.bson.Document;
+import org.example.backend.model.DailySelection;
+import org.example.backend.repo.MovieStorageFormat;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.*;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Keeps the daily history bounded and moves old data into it. Selections older than the retention
+ * are removed by a TTL index on generatedAt. Movies written before daily_selections existed carry
+ * the days they were shown on in a dateFetched array; on startup, once MovieStorageMigration has
+ * compacted them, those days are turned into selections (unless the date already has one) and the
+ * arrays are removed from the movies.
+ */
+@Component
+public class DailyHistoryMaintenance {
+
+    private static final String MOVIES = "movies";
+
+    private final MongoTemplate mongoTemplate;
+    private final Duration retention;
+    private final boolean migrateLegacyDates;
+
+    public DailyHistoryMaintenance(MongoTemplate mongoTemplate,
+                                   @Value("${daily.history.retention:P400D}") Duration retention,
+                                   @Value("${daily.history.migrate-legacy-dates:true}") boolean migrateLegacyDates) {
+        this.mongoTemplate = mongoTemplate;
+        this.retention = retention;
+        this.migrateLegacyDates = migrateLegacyDates;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        ensureRetentionIndex();
+        if (migrateLegacyDates) {
+            migrateLegacyDates();
+        }
+    }
+
+    // a zero retention keeps the history forever
+    void ensureRetentionIndex() {
+        if (retention.isZero() || retention.isNegative()) {
+            return;
+        }
+        try {
+            mongoTemplate.indexOps(DailySelection.class)
+                    .ensureIndex(new Index().on("generatedAt", Sort.Direction.ASC).expire(retention).named("generatedAt_ttl"));
+        } catch (Exception e) {
+            // e.g. the retention changed, the old index has to be dropped by hand first
+            System.out.println("Could not create daily history TTL index: " + e.getMessage());
+        }
+    }
+
+    int migrateLegacyDates() {
+        Criteria hasDates = Criteria.where(MovieStorageFormat.DATE_FETCHED + ".0").exists(true);
+        int migrated = 0;
+        try {
+            Aggregation byDate = Aggregation.newAggregation(
+                    Aggregation.match(hasDates),
+                    Aggregation.unwind(MovieStorageFormat.DATE_FETCHED),
+                    // the slug is only stored when it differs from the id
+                    Aggregation.group(MovieStorageFormat.DATE_FETCHED)
+                            .addToSet(ConditionalOperators.ifNull(MovieStorageFormat.SLUG).thenValueOf(MovieStorageFormat.ID)).as("slugs"),
+                    Aggregation.sort(Sort.Direction.ASC, "_id"));
+            for (Document day : mongoTemplate.aggregate(byDate, MOVIES, Document.class)) {
+                LocalDate date = toLocalDate(day.get("_id"));
+                List<String> slugs = day.getList("slugs", String.class).stream().sorted().toList();
+                if (date == null || slugs.isEmpty()) {
+                    continue;
+                }
+                try {
+                    // generatedAt is the day itself, so migrated days age out like the ones generated back then
+                    mongoTemplate.insert(DailySelection.of(date, slugs, date.atStartOfDay(ZoneOffset.UTC).toInstant()));
+                    migrated++;
+                } catch (DuplicateKeyException e) {
+                    // the date already has a selection, it wins over the legacy dates
+                }
+            }
+            mongoTemplate.updateMulti(Query.query(Criteria.where(MovieStorageFormat.DATE_FETCHED).exists(true)),
+                    new Update().unset(MovieStorageFormat.DATE_FETCHED), MOVIES);
+            if (migrated > 0) {
+                System.out.println("Moved " + migrated + " days from movie dateFetched arrays into daily_selections.");
+            }
+        } catch (Exception e) {
+            System.out.println("Failed to migrate legacy daily dates: " + e.getMessage());
+        }
+        return migrated;
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof Date date) {
+            // Spring Data writes a LocalDate as midnight in the JVM's zone
+            return LocalDate.ofInstant(date.toInstant(), ZoneId.systemDefault());
+        }
+        if (value instanceof String iso) {
+            return LocalDate.parse(iso);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,258 @@
+package org.example.backend.service;
+
+import org.example.backend.cache.CacheConfig;
+import org.example.backend.model.DailySelection;
+import org.example.backend.model.Movie;
+import org.example.backend.repo.DailySelectionRepo;
+import org.example.backend.repo.MovieRepo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Serves the movies of the day for the calendar date in the client's time zone. A selection
+ * belongs to a date, not a zone, and is stored once as a small immutable document. The
+ * configured zones only decide when a date has to be ready: it is generated ahead of the
+ * earliest zone's midnight, at a random point of the lead window, so instances don't all hit
+ * the upstream APIs at the same moment. Requests for a date that is being generated wait for that
+ * generation instead of starting their own, and a date whose generation found nothing is not tried
+ * again until the failure backoff has passed. A stored selection only lists movies that are already
+ * in Mongo, so other instances never load a partial day.
+ */
+@Service
+public class DailySelectionService {
+
+    private final MovieAPIService movieAPIService;
+    private final DailySelectionRepo selectionRepo;
+    private final MovieRepo movieRepo;
+    private final MoviePersistenceQueue persistenceQueue;
+    private final CacheManager cacheManager;
+    private final List<ZoneId> zones;
+    private final Duration lead;
+    private final Duration failureBackoff;
+
+    private static final int MAX_HISTORY_PAGE = 100;
+
+    // when this instance generates an upcoming date
+    private final Map<LocalDate, Instant> plannedAt = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<LocalDate, CompletableFuture<List<Movie>>> generating = new ConcurrentHashMap<>();
+    // dates whose last generation came back empty or failed, and when they may be tried again
+    private final Map<LocalDate, Instant> retryAfter = new ConcurrentHashMap<>();
+
+    public DailySelectionService(MovieAPIService movieAPIService,
+                                 DailySelectionRepo selectionRepo,
+                                 MovieRepo movieRepo,
+                                 MoviePersistenceQueue persistenceQueue,
+                                 CacheManager cacheManager,
+                                 @Value("${daily.zones:Europe/Berlin}") List<String> zones,
+                                 @Value("${daily.precompute.lead:PT2H}") Duration lead,
+                                 @Value("${daily.generate.failure-backoff:PT1M}") Duration failureBackoff) {
+        this.movieAPIService = movieAPIService;
+        this.selectionRepo = selectionRepo;
+        this.movieRepo = movieRepo;
+        this.persistenceQueue = persistenceQueue;
+        this.cacheManager = cacheManager;
+        this.zones = zones.stream().map(String::trim).filter(z -> !z.isEmpty()).map(ZoneId::of).toList();
+        if (this.zones.isEmpty()) {
+            throw new IllegalArgumentException("daily.zones must contain at least one zone");
+        }
+        this.lead = lead;
+        this.failureBackoff = failureBackoff;
+    }
+
+    public List<Movie> getMoviesOfTheDay(String timeZone) {
+        return getMoviesOfTheDay(LocalDate.now(resolveZone(timeZone)));
+    }
+
+    public List<Movie> getMoviesOfTheDay(LocalDate date) {
+        List<Movie> movies = loadStored(date);
+        return movies.isEmpty() ? generate(date) : movies;
+    }
+
+    // read only, a date without a stored selection is not generated here
+    public List<Movie> getStoredMovies(LocalDate date) {
+        return loadStored(date);
+    }
+
+    // ✅ Keyset paging on the ISO-date id, newest first, so a page never skips or repeats a day
+    public DailyHistoryPage getHistory(LocalDate before, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_HISTORY_PAGE));
+        String cursor = (before != null ? before : LocalDate.now(zones.get(0)).plusDays(1)).toString();
+        List<DailySelection> days = selectionRepo.findByIdLessThanOrderByIdDesc(cursor, Limit.of(pageSize + 1));
+        boolean more = days.size() > pageSize;
+        List<DailySelection> page = more ? days.subList(0, pageSize) : days;
+        LocalDate next = more ? page.get(page.size() - 1).date() : null;
+        return new DailyHistoryPage(page, next);
+    }
+
+    public record DailyHistoryPage(List<DailySelection> days, LocalDate next) {}
+
+    // unknown or missing zones fall back to the first configured zone
+    public ZoneId resolveZone(String timeZone) {
+        if (timeZone != null && !timeZone.isBlank()) {
+            try {
+                return ZoneId.of(timeZone.trim());
+            } catch (DateTimeException e) {
+                System.out.println("Ignoring unknown time zone " + timeZone);
+            }
+        }
+        return zones.get(0);
+    }
+
+    @Scheduled(fixedDelayString = "${daily.precompute.interval:PT5M}", initialDelayString = "${daily.precompute.interval:PT5M}")
+    public void precomputeUpcoming() {
+        precomputeUpcoming(Instant.now());
+    }
+
+    void precomputeUpcoming(Instant now) {
+        for (LocalDate date : datesDueBy(now.plus(lead))) {
+            if (!loadStored(date).isEmpty()) {
+                continue;
+            }
+            Instant planned = plannedAt.computeIfAbsent(date, this::plan);
+            if (!now.isBefore(planned)) {
+                try {
+                    generate(date);
+                } catch (Exception e) {
+                    System.out.println("Failed to precompute movies of the day for " + date + ": " + e.getMessage());
+                }
+            }
+        }
+        LocalDate oldest = LocalDate.ofInstant(now, ZoneOffset.UTC).minusDays(2);
+        plannedAt.keySet().removeIf(date -> date.isBefore(oldest));
+        retryAfter.keySet().removeIf(date -> date.isBefore(oldest));
+    }
+
+    // every date some configured zone is in now or will be in at the given instant
+    Set<LocalDate> datesDueBy(Instant until) {
+        Set<LocalDate> dates = new TreeSet<>();
+        Instant now = until.minus(lead);
+        for (ZoneId zone : zones) {
+            dates.add(LocalDate.ofInstant(now, zone));
+            dates.add(LocalDate.ofInstant(until, zone));
+        }
+        return dates;
+    }
+
+    // a random point in the first half of the lead window before the earliest midnight
+    Instant plan(LocalDate date) {
+        Instant firstMidnight = zones.stream()
+                .map(zone -> date.atStartOfDay(zone).toInstant())
+                .min(Comparator.naturalOrder())
+                .orElseThrow();
+        long jitterSeconds = ThreadLocalRandom.current().nextLong(Math.max(1, lead.toSeconds() / 2));
+        return firstMidnight.minus(lead).plusSeconds(jitterSeconds);
+    }
+
+    // ✅ one generation per date at a time, concurrent callers share its result
+    private List<Movie> generate(LocalDate date) {
+        Instant retryAt = retryAfter.get(date);
+        if (retryAt != null && Instant.now().isBefore(retryAt)) {
+            return List.of();
+        }
+
+        CompletableFuture<List<Movie>> created = new CompletableFuture<>();
+        CompletableFuture<List<Movie>> running = generating.putIfAbsent(date, created);
+        if (running != null) {
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException re ? re : e;
+            }
+        }
+
+        try {
+            List<Movie> movies = generateNow(date);
+            if (movies.isEmpty()) {
+                retryAfter.put(date, Instant.now().plus(failureBackoff));
+            } else {
+                retryAfter.remove(date);
+            }
+            created.complete(movies);
+            return movies;
+        } catch (RuntimeException e) {
+            retryAfter.put(date, Instant.now().plus(failureBackoff));
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            generating.remove(date, created);
+        }
+    }
+
+    private List<Movie> generateNow(LocalDate date) {
+        List<Movie> stored = loadStored(date);
+        if (!stored.isEmpty()) {
+            return stored;
+        }
+        List<Movie> movies = movieAPIService.getMoviesOfTheDay(null, date);
+        if (movies.isEmpty()) {
+            return movies;
+        }
+        List<String> slugs = storedSlugs(movies);
+        if (slugs.isEmpty()) {
+            System.out.println("Movies of the day for " + date + " are not stored yet, serving them without storing the selection.");
+            return movies;
+        }
+        try {
+            selectionRepo.insert(DailySelection.of(date, slugs, Instant.now()));
+            System.out.println("Stored movies of the day for " + date + ".");
+        } catch (DuplicateKeyException e) {
+            // another instance stored its selection first, serve that one everywhere
+            System.out.println("Movies of the day for " + date + " were stored concurrently, using the stored selection.");
+            evict(date);
+            List<Movie> winner = loadStored(date);
+            return winner.isEmpty() ? movies : winner;
+        }
+        return movies;
+    }
+
+    // ✅ the fetched movies may still be queued, write them first and list only what actually got stored
+    private List<String> storedSlugs(List<Movie> movies) {
+        persistenceQueue.flush();
+        List<String> slugs = movies.stream().map(Movie::slug).toList();
+        Set<String> stored = movieRepo.findByIdIn(slugs).stream().map(Movie::slug).collect(Collectors.toSet());
+        return slugs.stream().filter(stored::contains).toList();
+    }
+
+    // memory first, then the stored document, its movies from the primary as the selection may just have been stored
+    private List<Movie> loadStored(LocalDate date) {
+        Cache daily = cacheManager.getCache(CacheConfig.DAILY);
+        List<?> cached = daily != null ? daily.get(date, List.class) : null;
+        if (cached != null && !cached.isEmpty()) {
+            return cached.stream().map(Movie.class::cast).toList();
+        }
+
+        Optional<DailySelection> selection = selectionRepo.findById(date.toString());
+        if (selection.isEmpty()) {
+            return List.of();
+        }
+        List<String> slugs = selection.get().slugs();
+        Map<String, Movie> bySlug = movieRepo.findByIdIn(slugs).stream()
+                .collect(Collectors.toMap(Movie::slug, Function.identity(), (a, b) -> a));
+        List<Movie> movies = slugs.stream().map(bySlug::get).filter(Objects::nonNull).toList();
+        if (daily != null && !movies.isEmpty()) {
+            daily.put(date, movies);
+        }
+        return movies;
+    }
+
+    private void evict(LocalDate date) {
+        Cache daily = cacheManager.getCache(CacheConfig.DAILY);
+        if (daily != null) {
+            daily.evict(date);
+        }
+    }
+}
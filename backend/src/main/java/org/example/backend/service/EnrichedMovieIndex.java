@@ -0,0 +1,98 @@
+package org.example.backend.service;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import org.example.backend.model.Movie;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.example.backend.repo.MovieRepo;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Bloom filter over the slugs of stored movies that already have a TMDB image. The fetch pipeline
+ * asks it which posts might be enriched already and confirms them with a single batched read, so
+ * re-ingesting overlapping queries does not call TMDB again. A false positive only costs a slug
+ * in that read; a deleted movie stays in the filter until the next rebuild for the same reason.
+ * A rebuild sizes the filter for at least twice the stored slugs, so it never starts out full.
+ */
+@Component
+public class EnrichedMovieIndex {
+
+    private final MovieRepo movieRepo;
+    private final int expectedInsertions;
+    private final double falsePositiveRate;
+
+    private BloomFilter<CharSequence> slugs;
+    private int insertions;
+    // what the current filter was sized for
+    private int capacity;
+
+    public EnrichedMovieIndex(MovieRepo movieRepo,
+                              @Value("${ingest.enriched-index.expected-insertions:100000}") int expectedInsertions,
+                              @Value("${ingest.enriched-index.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.movieRepo = movieRepo;
+        this.expectedInsertions = Math.max(1, expectedInsertions);
+        this.falsePositiveRate = falsePositiveRate;
+        this.capacity = this.expectedInsertions;
+        this.slugs = newFilter(capacity);
+    }
+
+    // ✅ Only the id and slug are read, the rest of the documents never leaves Mongo
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        try {
+            List<String> enriched = movieRepo.findEnrichedSlugs();
+            int size = (int) Math.max(expectedInsertions, Math.min(2L * enriched.size(), Integer.MAX_VALUE));
+            BloomFilter<CharSequence> filter = newFilter(size);
+            int count = 0;
+            for (String slug : enriched) {
+                if (slug != null) {
+                    filter.put(slug);
+                    count++;
+                }
+            }
+            synchronized (this) {
+                slugs = filter;
+                insertions = count;
+                capacity = size;
+            }
+            System.out.println("Enriched movie index contains " + count + " slugs.");
+        } catch (Exception e) {
+            System.out.println("Failed to build enriched movie index: " + e.getMessage());
+        }
+    }
+
+    public synchronized boolean mightBeEnriched(String slug) {
+        return slug != null && slugs.mightContain(slug);
+    }
+
+    public void add(Movie movie) {
+        if (movie == null || movie.slug() == null || !isEnriched(movie)) {
+            return;
+        }
+        boolean full;
+        synchronized (this) {
+            if (slugs.put(movie.slug())) {
+                insertions++;
+            }
+            full = insertions > capacity;
+        }
+        if (full) {
+            // past its size the filter's false positive rate climbs quickly
+            System.out.println("Enriched movie index is over capacity, rebuilding...");
+            rebuild();
+        }
+    }
+
+    public static boolean isEnriched(Movie movie) {
+        return movie.imgImdb() != null && !movie.imgImdb().isBlank() && !"N/A".equals(movie.imgImdb());
+    }
+
+    private BloomFilter<CharSequence> newFilter(int size) {
+        return BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8), size, falsePositiveRate);
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.backend.service;
+
+import org.example.backend.model.Movie;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds every saved movie that has a TMDB image to the enriched movie index. Deletes are not
+ * tracked, the batched read in the fetch pipeline filters out slugs that are gone.
+ */
+@Component
+public class EnrichedMovieIndexListener extends AbstractMongoEventListener<Movie> {
+
+    private final EnrichedMovieIndex enrichedMovieIndex;
+
+    public EnrichedMovieIndexListener(EnrichedMovieIndex enrichedMovieIndex) {
+        this.enrichedMovieIndex = enrichedMovieIndex;
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Movie> event) {
+        enrichedMovieIndex.add(event.getSource());
+    }
+}
@@ -0,0 +1,340 @@
+package org.example.backend.service;
+
+import org.example.backend.exceptions.ImageFetchException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Fetches artwork once, keeps the original and resized JPEG variants in a size-bounded
+ * directory and evicts the least recently served files when the budget is exceeded.
+ * Concurrent requests for the same file share one upstream fetch / resize.
+ */
+@Service
+public class ImageCacheService {
+
+    public record CachedImage(Path path, String contentType, long size, String etag) {}
+
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "jpg", "image/jpeg",
+            "png", "image/png",
+            "gif", "image/gif",
+            "webp", "image/webp",
+            "bin", "application/octet-stream"
+    );
+
+    private final RestTemplate restTemplate;
+    private final Path cacheDir;
+    private final long maxBytes;
+    private final int[] widths;
+    private final float jpegQuality;
+
+    // empty file stored in place of a variant when the original already is the best answer for that width
+    private static final String SAME_AS_ORIGINAL = ".same";
+
+    private final ConcurrentHashMap<String, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+    // file name -> size, in access order so the head is the eviction candidate
+    private final LinkedHashMap<String, Long> index = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+
+    public ImageCacheService(RestTemplate restTemplate,
+                             @Value("${images.cache.dir:image-cache}") String cacheDir,
+                             @Value("${images.cache.max-bytes:536870912}") long maxBytes,
+                             @Value("${images.widths:160,320,480,780,1280}") int[] widths,
+                             @Value("${images.jpeg-quality:0.8}") float jpegQuality) {
+        this.restTemplate = restTemplate;
+        this.cacheDir = Path.of(cacheDir);
+        this.maxBytes = maxBytes;
+        this.widths = Arrays.stream(widths).sorted().toArray();
+        this.jpegQuality = jpegQuality;
+        loadIndex();
+    }
+
+    /**
+     * Returns the cached file for the image, fetching and resizing it first if needed.
+     * A width is rounded up to the next configured width; without one, or if it is larger
+     * than every configured width, the original is served.
+     */
+    public CachedImage getImage(String sourceUrl, Integer width) {
+        if (sourceUrl == null || sourceUrl.isBlank() || "N/A".equals(sourceUrl)) {
+            throw new ImageFetchException("No image available.");
+        }
+        String key = hash(sourceUrl);
+        Integer variantWidth = snapWidth(width);
+
+        Path original = resolve(key + ".orig", () -> fetchOriginal(sourceUrl, key));
+        Path file = original;
+        if (variantWidth != null && isResizable(original)) {
+            Path variant = resolve(key + "-w" + variantWidth + ".jpg", () -> resize(original, key, variantWidth));
+            if (!variant.getFileName().toString().endsWith(SAME_AS_ORIGINAL)) {
+                file = variant;
+            }
+        }
+        return describe(file);
+    }
+
+    // ImageIO can decode these; WebP and unknown formats are always served as they are
+    private static boolean isResizable(Path original) {
+        String name = original.getFileName().toString();
+        return name.endsWith(".jpg") || name.endsWith(".png") || name.endsWith(".gif");
+    }
+
+    private Integer snapWidth(Integer width) {
+        if (width == null || width <= 0) {
+            return null;
+        }
+        for (int candidate : widths) {
+            if (candidate >= width) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private Path resolve(String name, IoSupplier<Path> producer) {
+        Path cached = lookup(name);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompletableFuture<Path> created = new CompletableFuture<>();
+        CompletableFuture<Path> running = inFlight.putIfAbsent(name, created);
+        if (running != null) {
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException re ? re : new ImageFetchException("Image fetch failed.", e.getCause());
+            }
+        }
+
+        try {
+            Path path = lookup(name);
+            if (path == null) {
+                path = producer.get();
+                register(path);
+            }
+            created.complete(path);
+            return path;
+        } catch (IOException | UncheckedIOException e) {
+            ImageFetchException failure = new ImageFetchException("Failed to store image: " + e.getMessage(), e);
+            created.completeExceptionally(failure);
+            throw failure;
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(name, created);
+        }
+    }
+
+    private Path lookup(String name) {
+        synchronized (index) {
+            for (String candidate : candidates(name)) {
+                if (index.get(candidate) != null) {
+                    Path path = cacheDir.resolve(candidate);
+                    if (Files.exists(path)) {
+                        return path;
+                    }
+                    totalBytes -= index.remove(candidate);
+                }
+            }
+        }
+        return null;
+    }
+
+    // originals are stored as <key>.orig.<ext>, so the prefix identifies them regardless of format;
+    // a variant may instead be a marker saying the original is served for that width
+    private List<String> candidates(String name) {
+        if (name.endsWith(".orig")) {
+            return CONTENT_TYPES.keySet().stream().map(ext -> name + "." + ext).toList();
+        }
+        if (name.endsWith(".jpg")) {
+            return List.of(name, name.substring(0, name.length() - ".jpg".length()) + SAME_AS_ORIGINAL);
+        }
+        return List.of(name);
+    }
+
+    private Path fetchOriginal(String sourceUrl, String key) throws IOException {
+        System.out.println("Fetching image from upstream: " + sourceUrl);
+        byte[] bytes;
+        try {
+            bytes = restTemplate.getForObject(sourceUrl, byte[].class);
+        } catch (Exception e) {
+            throw new ImageFetchException("Failed to fetch image: " + e.getMessage(), e);
+        }
+        if (bytes == null || bytes.length == 0) {
+            throw new ImageFetchException("Upstream returned an empty image.");
+        }
+        return write(key + ".orig." + extensionOf(bytes), bytes);
+    }
+
+    private Path resize(Path original, String key, int width) throws IOException {
+        BufferedImage source = decode(original);
+        if (source == null || source.getWidth() <= width) {
+            // unreadable or already small enough, remember that so the next request skips decoding
+            return write(key + "-w" + width + SAME_AS_ORIGINAL, new byte[0]);
+        }
+        int height = Math.max(1, Math.round(source.getHeight() * (width / (float) source.getWidth())));
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOut = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.setOutput(imageOut);
+            writer.write(null, new IIOImage(scaled, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return write(key + "-w" + width + ".jpg", out.toByteArray());
+    }
+
+    BufferedImage decode(Path path) throws IOException {
+        return ImageIO.read(path.toFile());
+    }
+
+    private Path write(String name, byte[] bytes) throws IOException {
+        Files.createDirectories(cacheDir);
+        Path target = cacheDir.resolve(name);
+        Path tmp = Files.createTempFile(cacheDir, name, ".tmp");
+        Files.write(tmp, bytes);
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return target;
+    }
+
+    private void register(Path path) throws IOException {
+        long size = Files.size(path);
+        synchronized (index) {
+            Long previous = index.put(path.getFileName().toString(), size);
+            totalBytes += size - (previous == null ? 0 : previous);
+            evictIfNeeded(path);
+        }
+    }
+
+    private void evictIfNeeded(Path keep) {
+        Iterator<Map.Entry<String, Long>> it = index.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, Long> eldest = it.next();
+            if (eldest.getKey().equals(keep.getFileName().toString())) {
+                continue;
+            }
+            try {
+                Files.deleteIfExists(cacheDir.resolve(eldest.getKey()));
+            } catch (IOException e) {
+                System.out.println("Failed to evict cached image " + eldest.getKey() + ": " + e.getMessage());
+            }
+            totalBytes -= eldest.getValue();
+            it.remove();
+        }
+    }
+
+    private void loadIndex() {
+        if (!Files.isDirectory(cacheDir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            files.filter(Files::isRegularFile)
+                    .filter(p -> !p.getFileName().toString().endsWith(".tmp"))
+                    .sorted(Comparator.comparing(this::lastModified))
+                    .forEach(p -> {
+                        try {
+                            register(p);
+                        } catch (IOException e) {
+                            System.out.println("Skipping unreadable cached image " + p + ": " + e.getMessage());
+                        }
+                    });
+            System.out.println("Image cache holds " + index.size() + " files (" + totalBytes + " bytes).");
+        } catch (IOException e) {
+            System.out.println("Failed to scan image cache: " + e.getMessage());
+        }
+    }
+
+    private CachedImage describe(Path path) {
+        String name = path.getFileName().toString();
+        String ext = name.substring(name.lastIndexOf('.') + 1);
+        try {
+            long size = Files.size(path);
+            return new CachedImage(path, CONTENT_TYPES.getOrDefault(ext, "application/octet-stream"), size,
+                    "\"" + name + "-" + Long.toHexString(size) + "\"");
+        } catch (IOException e) {
+            throw new ImageFetchException("Cached image disappeared: " + name, e);
+        }
+    }
+
+    private long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private static String extensionOf(byte[] bytes) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(bytes))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (readers.hasNext()) {
+                String format = readers.next().getFormatName().toLowerCase(Locale.ROOT);
+                return switch (format) {
+                    case "jpeg", "jpg" -> "jpg";
+                    case "png", "gif", "webp" -> format;
+                    default -> "bin";
+                };
+            }
+        }
+        // ImageIO has no WebP reader, recognise it by its RIFF header so it is at least served with the right type
+        if (bytes.length > 12 && "RIFF".equals(new String(bytes, 0, 4, StandardCharsets.US_ASCII))
+                && "WEBP".equals(new String(bytes, 8, 4, StandardCharsets.US_ASCII))) {
+            return "webp";
+        }
+        return "bin";
+    }
+
+    private static String hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IoSupplier<T> {
+        T get() throws IOException;
+    }
+}
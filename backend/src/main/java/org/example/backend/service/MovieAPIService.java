@@ -1,5 +1,8 @@
 package org.example.backend.service;
 
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import org.example.backend.cache.CacheConfig;
 import org.example.backend.dtos.netzkino.CustomFields;
 import org.example.backend.dtos.netzkino.NetzkinoResponse;
 import org.example.backend.dtos.netzkino.Post;
@@ -7,17 +10,20 @@ import org.example.backend.dtos.tmdb.TmdbMovieResult;
 import org.example.backend.dtos.tmdb.TmdbResponse;
 import org.example.backend.exceptions.InvalidSearchQueryException;
 import org.example.backend.model.Movie;
-import org.example.backend.model.Query;
 import org.example.backend.repo.MovieRepo;
 import org.example.backend.repo.QueryRepo;
 import org.example.backend.validation.SearchQueryValidator;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
-import java.security.SecureRandom;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.*;
+import java.util.function.Consumer;
 import java.time.LocalDate;
 import java.util.stream.Collectors;
 
@@ -27,6 +33,12 @@ public class MovieAPIService {
     private final MovieRepo movieRepository;
     private final RestTemplate restTemplate;
     private final QueryRepo queryRepository;
+    private final CacheManager cacheManager;
+    private final SeedNameDictionary seedNames;
+    private final RetryPolicy retryPolicy;
+    private final NegativeQueryCache negativeQueries;
+    private final EnrichedMovieIndex enrichedMovies;
+    private final MoviePersistenceQueue persistenceQueue;
     private final String tmdbApiKey;
     private final String netzkinoEnv;
 
@@ -34,287 +46,29 @@ public class MovieAPIService {
     private static final String TMDB_IMAGE_URL = "https://image.tmdb.org/t/p/original";
     private static final String NETZKINO_URL = "https://api.netzkino.de.simplecache.net/capi-2.0a/search";
 
+    // stable across JVMs and restarts, unlike String.hashCode or a random pick
+    private static final HashFunction SEED_HASH = Hashing.murmur3_32_fixed();
 
-    // comment: I plan to transfer predefinedNames into specific endpoint later in time
-    private final List<String> predefinedNames = Arrays.asList(
-            "Liam",
-            "Noah",
-            "Oliver",
-            "James",
-            "Elijah",
-            "Mateo",
-            "Theodore",
-            "Henry",
-            "Lucas",
-            "William",
-            "Benjamin",
-            "Levi",
-            "Sebastian",
-            "Jack",
-            "Ezra",
-            "Michael",
-            "Daniel",
-            "Leo",
-            "Owen",
-            "Samuel",
-            "Hudson",
-            "Alexander",
-            "Asher",
-            "Luca",
-            "Ethan",
-            "John",
-            "David",
-            "Jackson",
-            "Joseph",
-            "Mason",
-            "Luke",
-            "Matthew",
-            "Julian",
-            "Dylan",
-            "Elias",
-            "Jacob",
-            "Maverick",
-            "Gabriel",
-            "Logan",
-            "Aiden",
-            "Thomas",
-            "Isaac",
-            "Miles",
-            "Grayson",
-            "Santiago",
-            "Anthony",
-            "Wyatt",
-            "Carter",
-            "Jayden",
-            "Ezekiel",
-            "Caleb",
-            "Cooper",
-            "Josiah",
-            "Charles",
-            "Christopher",
-            "Isaiah",
-            "Nolan",
-            "Cameron",
-            "Nathan",
-            "Joshua",
-            "Kai",
-            "Waylon",
-            "Angel",
-            "Lincoln",
-            "Andrew",
-            "Roman",
-            "Adrian",
-            "Aaron",
-            "Wesley",
-            "Ian",
-            "Thiago",
-            "Axel",
-            "Brooks",
-            "Bennett",
-            "Weston",
-            "Rowan",
-            "Christian",
-            "Theo",
-            "Beau",
-            "Eli",
-            "Silas",
-            "Jonathan",
-            "Ryan",
-            "Leonardo",
-            "Walker",
-            "Jaxon",
-            "Micah",
-            "Everett",
-            "Robert",
-            "Enzo",
-            "Parker",
-            "Jeremiah",
-            "Jose",
-            "Colton",
-            "Luka",
-            "Easton",
-            "Landon",
-            "Jordan",
-            "Amir",
-            "Gael",
-            "Austin",
-            "Adam",
-            "Jameson",
-            "August",
-            "Xavier",
-            "Myles",
-            "Dominic",
-            "Damian",
-            "Nicholas",
-            "Jace",
-            "Carson",
-            "Atlas",
-            "Adriel",
-            "Kayden",
-            "Hunter",
-            "River",
-            "Greyson",
-            "Emmett",
-            "Harrison",
-            "Vincent",
-            "Milo",
-            "Jasper",
-            "Giovanni",
-            "Jonah",
-            "Zion",
-            "Connor",
-            "Sawyer",
-            "Arthur",
-            "Ryder",
-            "Archer",
-            "Lorenzo",
-            "Declan",
-            "Olivia",
-            "Emma",
-            "Charlotte",
-            "Amelia",
-            "Sophia",
-            "Mia",
-            "Isabella",
-            "Ava",
-            "Evelyn",
-            "Luna",
-            "Harper",
-            "Sofia",
-            "Camila",
-            "Eleanor",
-            "Elizabeth",
-            "Violet",
-            "Scarlett",
-            "Emily",
-            "Hazel",
-            "Lily",
-            "Gianna",
-            "Aurora",
-            "Penelope",
-            "Aria",
-            "Nora",
-            "Chloe",
-            "Ellie",
-            "Mila",
-            "Avery",
-            "Layla",
-            "Abigail",
-            "Ella",
-            "Isla",
-            "Eliana",
-            "Nova",
-            "Madison",
-            "Zoe",
-            "Ivy",
-            "Grace",
-            "Lucy",
-            "Willow",
-            "Emilia",
-            "Riley",
-            "Naomi",
-            "Victoria",
-            "Stella",
-            "Elena",
-            "Hannah",
-            "Valentina",
-            "Maya",
-            "Zoey",
-            "Delilah",
-            "Leah",
-            "Lainey",
-            "Lillian",
-            "Paisley",
-            "Genesis",
-            "Madelyn",
-            "Sadie",
-            "Sophie",
-            "Leilani",
-            "Addison",
-            "Natalie",
-            "Josephine",
-            "Alice",
-            "Ruby",
-            "Claire",
-            "Kinsley",
-            "Everly",
-            "Emery",
-            "Adeline",
-            "Kennedy",
-            "Maeve",
-            "Audrey",
-            "Autumn",
-            "Athena",
-            "Eden",
-            "Iris",
-            "Anna",
-            "Eloise",
-            "Jade",
-            "Maria",
-            "Caroline",
-            "Brooklyn",
-            "Quinn",
-            "Aaliyah",
-            "Vivian",
-            "Liliana",
-            "Gabriella",
-            "Hailey",
-            "Sarah",
-            "Savannah",
-            "Cora",
-            "Madeline",
-            "Natalia",
-            "Ariana",
-            "Lydia",
-            "Lyla",
-            "Clara",
-            "Allison",
-            "Aubrey",
-            "Millie",
-            "Melody",
-            "Ayla",
-            "Serenity",
-            "Bella",
-            "Skylar",
-            "Josie",
-            "Lucia",
-            "Daisy",
-            "Raelynn",
-            "Eva",
-            "Juniper",
-            "Samantha",
-            "Elliana",
-            "Eliza",
-            "Rylee",
-            "Nevaeh",
-            "Hadley",
-            "Alaia",
-            "Parker",
-            "Julia",
-            "Amara",
-            "Rose",
-            "Charlie",
-            "Ashley",
-            "Remi",
-            "Georgia",
-            "Adalynn",
-            "Melanie",
-            "Amira",
-            "Margaret",
-            "Piper"
-    );
-
-    private static final SecureRandom secureRandom = new SecureRandom();
-
-    public MovieAPIService(MovieRepo movieRepository, RestTemplate restTemplate, QueryRepo queryRepository, @Value("${TMDB_API_KEY}") String tmdbApiKey, @Value("${NETZKINO_ENV}") String netzkinoEnv) {
+    public MovieAPIService(MovieRepo movieRepository, RestTemplate restTemplate, QueryRepo queryRepository, CacheManager cacheManager, SeedNameDictionary seedNames, RetryPolicy retryPolicy, NegativeQueryCache negativeQueries, EnrichedMovieIndex enrichedMovies, MoviePersistenceQueue persistenceQueue, @Value("${TMDB_API_KEY}") String tmdbApiKey, @Value("${NETZKINO_ENV}") String netzkinoEnv) {
         this.movieRepository = movieRepository;
         this.restTemplate = restTemplate;
         this.queryRepository = queryRepository;
+        this.cacheManager = cacheManager;
+        this.seedNames = seedNames;
+        this.retryPolicy = retryPolicy;
+        this.negativeQueries = negativeQueries;
+        this.enrichedMovies = enrichedMovies;
+        this.persistenceQueue = persistenceQueue;
         this.tmdbApiKey = tmdbApiKey;
         this.netzkinoEnv = netzkinoEnv;
     }
 
     public List<Movie> fetchMoviesBySearchQuery(String searchQuery) {
+        return fetchMoviesBySearchQuery(searchQuery, movie -> {});
+    }
+
+    // onMovie sees every movie as soon as it is available, before the whole result is stored
+    public List<Movie> fetchMoviesBySearchQuery(String searchQuery, Consumer<Movie> onMovie) {
 
         // Validate input: Ensure search query is not null or empty
         if (searchQuery == null || searchQuery.trim().isEmpty()) {
@@ -326,38 +80,60 @@ public class MovieAPIService {
 
         // Check if movies for this query already exist in the database
         List<Movie> existingMovies = movieRepository.findByQueriesContaining(searchQuery).orElse(List.of());
+        if (existingMovies.isEmpty()) {
+            existingMovies = persistenceQueue.pendingForQuery(searchQuery);
+        }
         if (!existingMovies.isEmpty()) {
             System.out.println("Returning " + existingMovies.size() + " existing movies for query: " + searchQuery);
-            return existingMovies.stream().limit(5).toList();
+            List<Movie> movies = existingMovies.stream().limit(5).toList();
+            movies.forEach(onMovie);
+            return movies;
+        }
+
+        // ✅ Known dead ends return right away instead of starting the upstream pipeline again
+        if (negativeQueries.isNegative(searchQuery)) {
+            System.out.println("Query " + searchQuery + " recently produced no movies, skipping upstream.");
+            return List.of();
         }
 
         // Fetch new movies with an empty dateFetched list
-        return fetchAndStoreMovies(searchQuery, List.of()); // ✅ Pass an empty list instead of today’s date
+        return fetchAndStoreMovies(searchQuery, List.of(), onMovie, true); // ✅ Pass an empty list instead of today’s date
     }
 
     public List<Movie> getMoviesOfTheDay(List<String> names) {
-        System.out.println("Fetching daily movies...");
-
         // Check: welcher Tag ist heute?
+        return getMoviesOfTheDay(names, LocalDate.now());
+    }
 
-        names = Optional.ofNullable(names).filter(list -> !list.isEmpty()).orElse(predefinedNames);
-        LocalDate today = LocalDate.now();
-
-        // Check: heutige movies bereits in Datenbank -> return
+    // DailySelectionService decides which date a client is on, this only builds the selection for it
+    public List<Movie> getMoviesOfTheDay(List<String> names, LocalDate today) {
+        System.out.println("Fetching daily movies for " + today + "...");
 
-        System.out.println("Today's date: " + today);
-        System.out.println("Checking if movies are already stored for today...");
+        // Check: heutige movies bereits im Cache (ggf. aus dem Snapshot geladen) -> return
 
-        List<Movie> existingMovies = movieRepository.findByDateFetchedContaining(today).orElse(List.of());
+        Cache dailyCache = cacheManager.getCache(CacheConfig.DAILY);
+        List<?> cachedMovies = dailyCache != null ? dailyCache.get(today, List.class) : null;
+        if (cachedMovies != null && !cachedMovies.isEmpty()) {
+            System.out.println("Returning " + cachedMovies.size() + " cached movies for today.");
+            return cachedMovies.stream().map(Movie.class::cast).toList();
+        }
 
-        if (!existingMovies.isEmpty()) {
-            System.out.println("Found " + existingMovies.size() + " existing movies for today, returning them.");
-            return existingMovies.stream().limit(5).toList(); // Changed here
+        List<Movie> movies = loadMoviesOfTheDay(names, today);
+        if (dailyCache != null && !movies.isEmpty()) {
+            dailyCache.put(today, movies);
         }
+        return movies;
+    }
+
+    private List<Movie> loadMoviesOfTheDay(List<String> names, LocalDate today) {
 
-        // heutige movies nicht in Datenbank? -> fetchAndStoreMovies
+        // which movies belong to a date is stored in daily_selections (see DailySelectionService),
+        // so movies themselves no longer carry the dates they were shown on
 
-        String query = names.get(secureRandom.nextInt(names.size()));
+        // every node picks the same name for the same date, so they all converge on one selection
+        String query = names == null || names.isEmpty()
+                ? seedNames.sample(today.toString())
+                : names.get(seededIndex(today.toString(), names.size()));
         System.out.println("Selected query for fetching movies: " + query);
 
         if (queryRepository.findAll().stream().anyMatch(q -> q.query().contains(query))) {
@@ -367,66 +143,139 @@ public class MovieAPIService {
         }
 
         System.out.println("Query not used before, fetching new movies...");
-        return fetchAndStoreMovies(query, List.of(today));
+        return fetchAndStoreMovies(query, List.of());
     }
 
     public List<Movie> fetchAndStoreMovies(String query, List<LocalDate> dateFetched) {
+        return fetchAndStoreMovies(query, dateFetched, movie -> {});
+    }
+
+    public List<Movie> fetchAndStoreMovies(String query, List<LocalDate> dateFetched, Consumer<Movie> onMovie) {
+        return fetchAndStoreMovies(query, dateFetched, onMovie, false);
+    }
+
+    // a user's search is only topped up with seed names once the user's own query found something,
+    // otherwise a dead end would return (and store) movies for an unrelated name
+    private List<Movie> fetchAndStoreMovies(String query, List<LocalDate> dateFetched, Consumer<Movie> onMovie, boolean userQuery) {
         System.out.println("Fetching movies from external API using query: " + query);
 
         List<Movie> collectedMovies = new ArrayList<>();
-        int maxRetries = 10;
+        Set<String> triedQueries = new HashSet<>();
+        String seed = query + "|" + dateFetched;
+        long deadline = System.nanoTime() + retryPolicy.budget().toNanos();
 
-        for (int retryCount = 0; collectedMovies.size() < 5 && retryCount < maxRetries; retryCount++) {
+        for (int attempt = 0; query != null && collectedMovies.size() < 5 && attempt < retryPolicy.maxAttempts(); attempt++) {
+            if (attempt > 0 && !pauseBeforeRetry(attempt, deadline)) {
+                break;
+            }
+            triedQueries.add(query);
             String netzkinoURL = buildNetzkinoUrl(query);
 
             try {
                 ResponseEntity<NetzkinoResponse> response = restTemplate.getForEntity(netzkinoURL, NetzkinoResponse.class);
 
                 String finalQuery = query;
-                List<Movie> newMovies = Optional.ofNullable(response.getBody())
+                List<Post> posts = Optional.ofNullable(response.getBody())
                         .map(NetzkinoResponse::posts)
-                        .orElse(Collections.emptyList()).stream()
-                        .map(post -> processMoviePost(post, finalQuery, dateFetched))
+                        .orElse(Collections.emptyList());
+                Map<String, Movie> enriched = findEnriched(posts);
+                List<Movie> newMovies = posts.stream()
+                        .map(post -> processMoviePost(post, finalQuery, dateFetched, enriched))
                         .filter(Objects::nonNull)
+                        .peek(onMovie) // ✅ streamed to the client while the rest is still being enriched
                         .collect(Collectors.toList());
 
                 collectedMovies.addAll(newMovies);
+                seedNames.recordResult(query, newMovies.size());
+
+                if (userQuery && attempt == 0 && newMovies.isEmpty()) {
+                    System.out.println("Query " + query + " found no usable movies, not falling back to seed names.");
+                    negativeQueries.recordEmpty(query);
+                    break;
+                }
 
                 if (collectedMovies.size() >= 5) break;
 
             } catch (Exception e) {
                 System.out.println("Error fetching movies: " + e.getMessage());
+                seedNames.recordResult(query, 0);
             }
 
-            query = getRandomQuery();
-            System.out.println("Retry " + (retryCount + 1) + ": Trying new query -> " + query);
+            // ✅ best-yielding name that was not tried in this call yet
+            query = seedNames.bestUnused(seed, triedQueries).orElse(null);
+            System.out.println("Retry " + (attempt + 1) + ": Trying new query -> " + query);
         }
 
-        if (collectedMovies.size() < 5) {
-            throw new IllegalStateException("Failed to fetch 5 movies after " + maxRetries + " attempts.");
+        List<Movie> movies = List.copyOf(collectedMovies);
+        if (movies.isEmpty()) {
+            System.out.println("No movies found after trying " + triedQueries.size() + " queries.");
+            return movies;
+        }
+        if (movies.size() < 5) {
+            System.out.println("Only found " + movies.size() + " movies after trying " + triedQueries.size() + " queries, keeping them.");
         }
 
-        movieRepository.saveAll(collectedMovies);
-        queryRepository.save(new Query(query));
+        // ✅ the response does not wait for Mongo, the query that completed the set is marked as used once written
+        String lastQuery = movies.get(movies.size() - 1).queries().get(0);
+        persistenceQueue.enqueue(movies, lastQuery);
+        return movies;
+    }
 
-        System.out.println("Stored " + collectedMovies.size() + " movies in database.");
-        return collectedMovies;
+    // false once the budget would be exceeded or the thread is interrupted
+    private boolean pauseBeforeRetry(int retry, long deadline) {
+        Duration pause = retryPolicy.backoff(retry);
+        if (System.nanoTime() + pause.toNanos() >= deadline) {
+            System.out.println("Retry budget of " + retryPolicy.budget() + " used up.");
+            return false;
+        }
+        try {
+            Thread.sleep(pause);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
     }
 
     private String buildNetzkinoUrl(String query) {
         return NETZKINO_URL + "?q=" + query + "&d=" + netzkinoEnv;
     }
 
-    private String getRandomQuery() {
-        return predefinedNames.get(secureRandom.nextInt(predefinedNames.size()));
+    static int seededIndex(String seed, int size) {
+        return Math.floorMod(SEED_HASH.hashString(seed, StandardCharsets.UTF_8).asInt(), size);
     }
 
-    private Movie processMoviePost(Post post, String query, List<LocalDate> dateFetched) {
+    // ✅ One $in read for all posts the index knows, instead of a TMDB call per post
+    private Map<String, Movie> findEnriched(List<Post> posts) {
+        List<String> candidates = posts.stream()
+                .map(Post::slug)
+                .filter(enrichedMovies::mightBeEnriched)
+                .distinct()
+                .toList();
+        if (candidates.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, Movie> enriched = new HashMap<>();
+        movieRepository.findAllById(candidates).forEach(movie -> {
+            if (EnrichedMovieIndex.isEnriched(movie)) {
+                enriched.put(movie.slug(), movie);
+            }
+        });
+        return enriched;
+    }
+
+    private Movie processMoviePost(Post post, String query, List<LocalDate> dateFetched, Map<String, Movie> enriched) {
         if (post.custom_fields() == null) {
             System.out.println("Post has no custom fields, skipping...");
             return null;
         }
 
+        Movie stored = enriched.get(post.slug());
+        if (stored != null) {
+            System.out.println("Reusing stored TMDB image for " + post.slug());
+            return formatMovieData(post, query, dateFetched, stored.imgImdb());
+        }
+
         String imdbId = extractImdbId(CustomFields.getOrDefault(post.custom_fields().IMDb_Link(), ""));
         if (imdbId.isEmpty()) {
             System.out.println("No valid IMDb ID found, skipping...");
@@ -485,6 +334,12 @@ public class MovieAPIService {
             return "N/A";
         }
 
+        Cache posterCache = cacheManager.getCache(CacheConfig.POSTERS);
+        String cachedPoster = posterCache != null ? posterCache.get(imdbId, String.class) : null;
+        if (cachedPoster != null) {
+            return cachedPoster;
+        }
+
         String tmdbURL = TMDB_BASE_URL + imdbId + "?api_key=" + tmdbApiKey + "&language=de&external_source=imdb_id";
         System.out.println("fetchMoviePosterFromTmdb: Fetching TMDB poster using URL: " + tmdbURL);
 
@@ -501,6 +356,9 @@ public class MovieAPIService {
                     .map(path -> {
                         String imageUrl = TMDB_IMAGE_URL + path;
                         System.out.println("fetchMoviePosterFromTmdb: Retrieved image URL: " + imageUrl);
+                        if (posterCache != null) {
+                            posterCache.put(imdbId, imageUrl);
+                        }
                         return imageUrl;
                     })
                     .orElseGet(() -> {
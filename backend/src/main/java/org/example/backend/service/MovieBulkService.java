@@ -0,0 +1,157 @@
+package org.example.backend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mongodb.bulk.BulkWriteResult;
+import org.example.backend.dtos.MovieImportProgress;
+import org.example.backend.model.Movie;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Streams the whole catalogue out as NDJSON (one movie per line, the same JSON as GET /api/movies)
+ * and reads such a file back in. Neither side holds more than one batch of movies in memory:
+ * the export follows a Mongo cursor, the import reads line by line and writes every batch as one
+ * unordered bulk of upserts by id. The bulk goes through the mapping events, so stored documents
+ * are compact and the local caches and indexes see the imported movies.
+ */
+@Service
+public class MovieBulkService {
+
+    private static final int MAX_REPORTED_ERRORS = 20;
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter lineWriter;
+    private final int batchSize;
+
+    public MovieBulkService(@Qualifier("movieMongoTemplate") MongoTemplate mongoTemplate,
+                            ObjectMapper objectMapper,
+                            @Value("${movies.bulk.batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        // the writer must not close the response stream after each movie
+        this.lineWriter = objectMapper.writerFor(Movie.class).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    public long exportMovies(OutputStream out) throws IOException {
+        Query all = new Query().cursorBatchSize(batchSize);
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try (Stream<Movie> movies = mongoTemplate.stream(all, Movie.class)) {
+            for (Movie movie : (Iterable<Movie>) movies::iterator) {
+                lineWriter.writeValue(writer, movie);
+                writer.write('\n');
+                count++;
+            }
+        }
+        writer.flush();
+        System.out.println("Exported " + count + " movies.");
+        return count;
+    }
+
+    public MovieImportProgress importMovies(InputStream in, Consumer<MovieImportProgress> onProgress) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<Movie> batch = new ArrayList<>(batchSize);
+        Totals totals = new Totals();
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            totals.lines++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                batch.add(parse(line));
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                totals.fail("line " + totals.lines + ": " + message(e));
+            }
+            if (batch.size() >= batchSize) {
+                write(batch, totals);
+                onProgress.accept(totals.progress(false));
+            }
+        }
+        write(batch, totals);
+
+        MovieImportProgress done = totals.progress(true);
+        System.out.println("Imported movies: " + done);
+        onProgress.accept(done);
+        return done;
+    }
+
+    // a movie without an id is stored under its slug, like everything the fetch pipeline writes
+    private Movie parse(String line) throws JsonProcessingException {
+        Movie movie = objectMapper.readValue(line, Movie.class);
+        if (movie == null || movie.slug() == null || movie.slug().isBlank()) {
+            throw new IllegalArgumentException("movie has no slug");
+        }
+        if (movie.id() == null || movie.id().isBlank()) {
+            return new Movie(movie.slug(), movie.netzkinoId(), movie.slug(), movie.title(), movie.year(), movie.overview(),
+                    movie.regisseur(), movie.stars(), movie.imgNetzkino(), movie.imgNetzkinoSmall(), movie.imgImdb(),
+                    movie.queries(), movie.dateFetched());
+        }
+        return movie;
+    }
+
+    private void write(List<Movie> batch, Totals totals) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Movie.class);
+        batch.forEach(movie -> bulk.replaceOne(Query.query(Criteria.where("id").is(movie.id())), movie,
+                FindAndReplaceOptions.options().upsert()));
+        try {
+            totals.add(bulk.execute());
+        } catch (BulkOperationException e) {
+            // unordered, so everything but the failed writes went through
+            totals.add(e.getResult());
+            e.getErrors().forEach(error -> totals.fail("movie " + batch.get(error.getIndex()).id() + ": " + error.getMessage()));
+        }
+        batch.clear();
+    }
+
+    private static String message(Exception e) {
+        return e instanceof JsonProcessingException json ? json.getOriginalMessage() : e.getMessage();
+    }
+
+    private static final class Totals {
+        private long lines;
+        private long upserted;
+        private long modified;
+        private long failed;
+        private final List<String> errors = new ArrayList<>();
+
+        void add(BulkWriteResult result) {
+            upserted += result.getUpserts().size();
+            modified += result.getModifiedCount();
+        }
+
+        void fail(String error) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(error);
+            }
+        }
+
+        MovieImportProgress progress(boolean done) {
+            return new MovieImportProgress(lines, upserted, modified, failed, List.copyOf(errors), done);
+        }
+    }
+}
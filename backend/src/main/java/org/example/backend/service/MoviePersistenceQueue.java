@@ -0,0 +1,249 @@
+package org.example.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.example.backend.model.Movie;
+import org.example.backend.model.Query;
+import org.example.backend.repo.MovieRepo;
+import org.example.backend.repo.QueryRepo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writes fetched movies and their queries to Mongo off the request path. Movies are kept per slug
+ * until they are written, so the same movie fetched by two requests ends up as one merged write,
+ * and reads for a query can be answered from here in the meantime. The queue is flushed on
+ * a fixed interval, as soon as a batch is full, and on shutdown. Transient Mongo errors are retried;
+ * while they last only the scheduled flush writes, so requests never wait on a failing Mongo. The
+ * queue holds at most max-pending movies, beyond that the oldest are dropped and counted as failed.
+ * With async disabled every enqueue is written immediately.
+ */
+@Component
+public class MoviePersistenceQueue {
+
+    private final MovieRepo movieRepo;
+    private final QueryRepo queryRepo;
+    private final boolean async;
+    private final int batchSize;
+    private final int maxPending;
+    private final int maxAttempts;
+    private final Duration retryDelay;
+    private final Counter written;
+    private final Counter failed;
+
+    private final Map<String, Movie> pendingMovies = new LinkedHashMap<>();
+    private final Set<String> pendingQueries = new LinkedHashSet<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // the last flush gave up on a transient error, requests leave the retrying to the schedule
+    private volatile boolean backingOff;
+
+    public MoviePersistenceQueue(MovieRepo movieRepo,
+                                 QueryRepo queryRepo,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${movies.persistence.async:true}") boolean async,
+                                 @Value("${movies.persistence.batch-size:200}") int batchSize,
+                                 @Value("${movies.persistence.max-pending:2000}") int maxPending,
+                                 @Value("${movies.persistence.max-attempts:3}") int maxAttempts,
+                                 @Value("${movies.persistence.retry-delay:PT0.5S}") Duration retryDelay) {
+        this.movieRepo = movieRepo;
+        this.queryRepo = queryRepo;
+        this.async = async;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxPending = Math.max(maxPending, this.batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryDelay = retryDelay;
+        Gauge.builder("movies.persistence.queue.depth", this, MoviePersistenceQueue::pendingCount)
+                .description("Movies waiting to be written to Mongo")
+                .register(meterRegistry);
+        this.written = meterRegistry.counter("movies.persistence.written");
+        this.failed = meterRegistry.counter("movies.persistence.failed");
+    }
+
+    /**
+     * Queues the movies and marks the query as used once they are written.
+     */
+    public void enqueue(List<Movie> movies, String query) {
+        if (!async) {
+            write(movies, query == null ? List.of() : List.of(query));
+            return;
+        }
+        boolean batchFull;
+        int dropped;
+        synchronized (this) {
+            movies.forEach(movie -> pendingMovies.merge(movie.slug(), movie, MoviePersistenceQueue::merge));
+            if (query != null) {
+                pendingQueries.add(query);
+            }
+            dropped = dropOldest(pendingMovies.size() - maxPending);
+            batchFull = pendingMovies.size() >= batchSize;
+        }
+        if (dropped > 0) {
+            System.out.println("Movie persistence queue is full, dropped the " + dropped + " oldest movies.");
+            failed.increment(dropped);
+        }
+
+        if (batchFull && !backingOff && flushLock.tryLock()) {
+            try {
+                flushLocked();
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    // a dropped movie's queries are not marked as used either, so they are fetched again later
+    private int dropOldest(int count) {
+        Iterator<Movie> oldest = pendingMovies.values().iterator();
+        int dropped = 0;
+        while (dropped < count && oldest.hasNext()) {
+            Movie movie = oldest.next();
+            if (movie.queries() != null) {
+                pendingQueries.removeAll(movie.queries());
+            }
+            oldest.remove();
+            dropped++;
+        }
+        return dropped;
+    }
+
+    // ✅ read-your-writes for movies that were returned but are not in Mongo yet
+    public synchronized List<Movie> pendingForQuery(String query) {
+        return pendingMovies.values().stream()
+                .filter(movie -> movie.queries() != null && movie.queries().contains(query))
+                .toList();
+    }
+
+    public synchronized int pendingCount() {
+        return pendingMovies.size();
+    }
+
+    @Scheduled(fixedDelayString = "${movies.persistence.interval:PT1S}")
+    public void flushPeriodically() {
+        if (async && pendingCount() > 0) {
+            flush();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        if (!async) {
+            return;
+        }
+        flush();
+        if (pendingCount() > 0) {
+            System.out.println("Lost " + pendingCount() + " movies that were not written on shutdown.");
+        }
+    }
+
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushLocked();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushLocked() {
+        Map<String, Movie> batch;
+        List<String> queries;
+        synchronized (this) {
+            batch = new LinkedHashMap<>(pendingMovies);
+            queries = new ArrayList<>(pendingQueries);
+        }
+        if (batch.isEmpty() && queries.isEmpty()) {
+            return;
+        }
+
+        boolean done = false;
+        for (int attempt = 1; attempt <= maxAttempts && !done; attempt++) {
+            try {
+                write(List.copyOf(batch.values()), queries);
+                done = true;
+            } catch (Exception e) {
+                if (!isTransient(e)) {
+                    System.out.println("Dropping " + batch.size() + " movies that could not be written: " + e.getMessage());
+                    failed.increment(batch.size());
+                    done = true;
+                } else {
+                    // still queued after the last attempt, the next flush tries again
+                    System.out.println("Writing movies failed (attempt " + attempt + "): " + e.getMessage());
+                    if (attempt < maxAttempts && !pause()) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        backingOff = !done;
+        if (done) {
+            synchronized (this) {
+                // movies merged again in the meantime stay queued for the next flush
+                batch.forEach(pendingMovies::remove);
+                pendingQueries.removeAll(queries);
+            }
+        }
+    }
+
+    private void write(List<Movie> movies, List<String> queries) {
+        if (!movies.isEmpty()) {
+            movieRepo.saveAll(mergeWithStored(movies));
+            written.increment(movies.size());
+            System.out.println("Stored " + movies.size() + " movies in database.");
+        }
+        queries.stream()
+                .filter(query -> !queryRepo.existsByQuery(query))
+                .forEach(query -> queryRepo.save(new Query(query)));
+    }
+
+    // keeps queries and dates of movies that are already stored, so a save never drops history
+    // and saving the same selection twice (e.g. from two nodes) writes the same document
+    private List<Movie> mergeWithStored(List<Movie> movies) {
+        Map<String, Movie> stored = new HashMap<>();
+        movieRepo.findByIdIn(movies.stream().map(Movie::id).toList())
+                .forEach(movie -> stored.put(movie.id(), movie));
+        return movies.stream().map(movie -> {
+            Movie existing = stored.get(movie.id());
+            return existing == null ? movie : merge(existing, movie);
+        }).toList();
+    }
+
+    private static Movie merge(Movie existing, Movie movie) {
+        return new Movie(movie.id(), movie.netzkinoId(), movie.slug(), movie.title(), movie.year(), movie.overview(),
+                movie.regisseur(), movie.stars(), movie.imgNetzkino(), movie.imgNetzkinoSmall(), movie.imgImdb(),
+                union(existing.queries(), movie.queries()), union(existing.dateFetched(), movie.dateFetched()));
+    }
+
+    private static <T> List<T> union(List<T> first, List<T> second) {
+        Set<T> merged = new LinkedHashSet<>();
+        Optional.ofNullable(first).ifPresent(merged::addAll);
+        Optional.ofNullable(second).ifPresent(merged::addAll);
+        return new ArrayList<>(merged);
+    }
+
+    private static boolean isTransient(Exception e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(retryDelay);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.backend.service;
+
+import org.example.backend.exceptions.InvalidProjectionException;
+import org.example.backend.model.Movie;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.util.*;
+
+/**
+ * Resolves the fields= / view= request parameters into a list of Movie properties
+ * and trims movies down to them.
+ */
+public final class MovieProjection {
+
+    public static final Map<String, List<String>> VIEWS = Map.of(
+            "list", List.of("slug", "title", "year", "imgNetzkinoSmall"),
+            "card", List.of("slug", "title", "year", "regisseur", "stars", "imgNetzkinoSmall")
+    );
+
+    private static final Map<String, Method> ACCESSORS = new LinkedHashMap<>();
+
+    static {
+        for (RecordComponent component : Movie.class.getRecordComponents()) {
+            ACCESSORS.put(component.getName(), component.getAccessor());
+        }
+    }
+
+    private MovieProjection() {
+    }
+
+    /**
+     * Returns the requested fields in declaration order, or empty if the full movie was requested.
+     */
+    public static Optional<List<String>> resolve(String fields, String view) {
+        if (fields != null && !fields.isBlank() && view != null && !view.isBlank()) {
+            throw new InvalidProjectionException("Use either fields or view, not both.");
+        }
+        if (view != null && !view.isBlank()) {
+            List<String> viewFields = VIEWS.get(view.trim());
+            if (viewFields == null) {
+                throw new InvalidProjectionException("Unknown view: " + view + ". Known views: " + new TreeSet<>(VIEWS.keySet()));
+            }
+            return Optional.of(viewFields);
+        }
+        if (fields == null || fields.isBlank()) {
+            return Optional.empty();
+        }
+
+        Set<String> requested = new HashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (!name.isEmpty() && !ACCESSORS.containsKey(name)) {
+                throw new InvalidProjectionException("Unknown field: " + name);
+            }
+            requested.add(name);
+        }
+        List<String> resolved = ACCESSORS.keySet().stream().filter(requested::contains).toList();
+        if (resolved.isEmpty()) {
+            throw new InvalidProjectionException("No fields requested.");
+        }
+        return Optional.of(resolved);
+    }
+
+    public static Map<String, Object> project(Movie movie, List<String> fields) {
+        Map<String, Object> projected = new LinkedHashMap<>();
+        for (String field : fields) {
+            try {
+                projected.put(field, ACCESSORS.get(field).invoke(movie));
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Cannot read movie field " + field, e);
+            }
+        }
+        return projected;
+    }
+
+    public static List<Map<String, Object>> project(List<Movie> movies, List<String> fields) {
+        return movies.stream().map(movie -> project(movie, fields)).toList();
+    }
+}
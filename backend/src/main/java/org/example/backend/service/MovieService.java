@@ -1,12 +1,19 @@
 package org.example.backend.service;
 
+import org.example.backend.cache.CacheConfig;
+import org.example.backend.dtos.MovieBatch;
 import org.example.backend.exceptions.DatabaseException;
+import org.example.backend.exceptions.InvalidBatchException;
 import org.example.backend.model.Movie;
 import org.example.backend.repo.MovieRepo;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class MovieService {
@@ -16,13 +23,16 @@ public class MovieService {
 
     private final String tmdbApiKey;
     private final String netzkinoEnv;
+    private final int maxBatchSlugs;
 
 
-    public MovieService(MovieRepo movieRepo, RestTemplate restTemplate, @Value("${TMDB_API_KEY}") String tmdbApiKey, @Value("${NETZKINO_ENV}") String netzkinoEnv ) {
+    public MovieService(MovieRepo movieRepo, RestTemplate restTemplate, @Value("${TMDB_API_KEY}") String tmdbApiKey, @Value("${NETZKINO_ENV}") String netzkinoEnv,
+                        @Value("${movies.batch.max-slugs:100}") int maxBatchSlugs) {
         this.movieRepo = movieRepo;
         this.restTemplate = restTemplate;
         this.tmdbApiKey = tmdbApiKey;
         this.netzkinoEnv=netzkinoEnv;
+        this.maxBatchSlugs = maxBatchSlugs;
     }
 
     // database interactions
@@ -38,6 +48,19 @@ public class MovieService {
         }
     }
 
+    // only the requested fields are read from Mongo
+    public List<Map<String, Object>> getAllMovies(List<String> fields) {
+        System.out.println("Fetching all movies from database with fields " + fields);
+        try {
+            return MovieProjection.project(movieRepo.findAllWithFields(fields), fields);
+        } catch (Exception e) {
+            System.out.println("Failed to fetch movies: " + e.getMessage());
+            throw new DatabaseException("Failed to fetch movies.");
+        }
+    }
+
+    // evicted by MovieCacheEvictionListener whenever the movie document changes
+    @Cacheable(cacheNames = CacheConfig.MOVIES, key = "#slug")
     public Movie getMovieBySlug(String slug) {
         System.out.println("Fetching movie by slug: " + slug);
         return movieRepo.findBySlug(slug)
@@ -47,6 +70,40 @@ public class MovieService {
                 });
     }
 
+    // ✅ Resolves all slugs with one $in query instead of one findBySlug per slug
+    public MovieBatch getMoviesBySlugs(List<String> slugs) {
+        List<String> requested = slugs.stream()
+                .filter(slug -> slug != null && !slug.isBlank())
+                .map(String::trim)
+                .distinct()
+                .toList();
+        if (requested.size() > maxBatchSlugs) {
+            throw new InvalidBatchException("At most " + maxBatchSlugs + " slugs can be requested at once.");
+        }
+        if (requested.isEmpty()) {
+            return new MovieBatch(List.of(), List.of());
+        }
+        System.out.println("Fetching " + requested.size() + " movies by slug in one query");
+        Map<String, Movie> found = new HashMap<>();
+        try {
+            movieRepo.findBySlugIn(requested).forEach(movie -> found.put(movie.slug(), movie));
+        } catch (Exception e) {
+            System.out.println("Failed to fetch movies: " + e.getMessage());
+            throw new DatabaseException("Failed to fetch movies.");
+        }
+        List<Movie> movies = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        for (String slug : requested) {
+            Movie movie = found.get(slug);
+            if (movie != null) {
+                movies.add(movie);
+            } else {
+                missing.add(slug);
+            }
+        }
+        return new MovieBatch(movies, missing);
+    }
+
     public Movie saveMovie(Movie movie) {
         return movieRepo.save(movie);
     }
@@ -0,0 +1,145 @@
+package org.example.backend.service;
+
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.example.backend.model.Movie;
+import org.example.backend.repo.MovieStorageFormat;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Rewrites movies stored with long field names into the compact MovieStorageFormat and replaces
+ * the indexes on the old names. Runs before the other startup work that reads the movies
+ * collection directly (e.g. DailyHistoryMaintenance). It is skipped while
+ * movies.storage.write-format=legacy, since older instances still running then only read the
+ * long names; movies.storage.migrate=false only stops the rewrite and does not change how
+ * new movies are written.
+ */
+@Component
+public class MovieStorageMigration {
+
+    private static final String MOVIES = "movies";
+    private static final DocumentCodec CODEC = new DocumentCodec();
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final MovieStorageFormat.WriteFormat writeFormat;
+    private final int batchSize;
+
+    public MovieStorageMigration(MongoTemplate mongoTemplate,
+                                 @Value("${movies.storage.migrate:true}") boolean enabled,
+                                 @Value("${movies.storage.write-format:compact}") String writeFormat,
+                                 @Value("${movies.storage.migration-batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.writeFormat = MovieStorageFormat.WriteFormat.of(writeFormat);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onStartup() {
+        if (!enabled) {
+            return;
+        }
+        if (writeFormat == MovieStorageFormat.WriteFormat.LEGACY) {
+            System.out.println("Movies are written in the legacy format, not compacting stored movies yet.");
+            return;
+        }
+        ensureIndexes();
+        migrate();
+    }
+
+    // indexes on the long names are recreated on the short ones; the slug only exists on movies
+    // whose id is not their slug, so its index is sparse and stays tiny
+    void ensureIndexes() {
+        IndexOperations indexOps = mongoTemplate.indexOps(Movie.class);
+        try {
+            for (IndexInfo index : indexOps.getIndexInfo()) {
+                if (index.getIndexFields().stream().noneMatch(field -> MovieStorageFormat.LEGACY_NAMES.containsKey(field.getKey()))) {
+                    continue;
+                }
+                indexOps.dropIndex(index.getName());
+                Index renamed = new Index();
+                for (IndexField field : index.getIndexFields()) {
+                    if (field.getDirection() == null || field.getKey().equals("slug")) {
+                        renamed = null;
+                        break;
+                    }
+                    renamed.on(MovieStorageFormat.LEGACY_NAMES.getOrDefault(field.getKey(), field.getKey()), field.getDirection());
+                }
+                if (renamed != null) {
+                    indexOps.ensureIndex(renamed);
+                }
+                System.out.println("Replaced movie index on legacy field names: " + index.getName());
+            }
+            indexOps.ensureIndex(new Index().on(MovieStorageFormat.SLUG, Sort.Direction.ASC).sparse().named("slug_sparse"));
+        } catch (Exception e) {
+            System.out.println("Could not update movie indexes: " + e.getMessage());
+        }
+    }
+
+    int migrate() {
+        Criteria legacy = new Criteria().orOperator(
+                MovieStorageFormat.LEGACY_NAMES.keySet().stream()
+                        .map(field -> Criteria.where(field).exists(true))
+                        .toArray(Criteria[]::new));
+        int migrated = 0;
+        long bytesBefore = 0;
+        long bytesAfter = 0;
+        List<Document> batch = new ArrayList<>();
+        try (Stream<Document> stored = mongoTemplate.stream(Query.query(legacy), Document.class, MOVIES)) {
+            for (Document document : (Iterable<Document>) stored::iterator) {
+                bytesBefore += size(document);
+                Document compact = MovieStorageFormat.compact(MovieStorageFormat.expand(document));
+                bytesAfter += size(compact);
+                batch.add(compact);
+                if (batch.size() >= batchSize) {
+                    migrated += write(batch);
+                }
+            }
+            migrated += write(batch);
+            if (migrated > 0) {
+                System.out.println("Compacted " + migrated + " movies from " + bytesBefore + " to " + bytesAfter + " bytes.");
+            }
+        } catch (Exception e) {
+            System.out.println("Failed to compact stored movies: " + e.getMessage());
+        }
+        return migrated;
+    }
+
+    private int write(List<Document> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MOVIES);
+        batch.forEach(document -> bulk.replaceOne(
+                Query.query(Criteria.where(MovieStorageFormat.ID).is(document.get(MovieStorageFormat.ID))), document));
+        bulk.execute();
+        int written = batch.size();
+        batch.clear();
+        return written;
+    }
+
+    static int size(Document document) {
+        return new RawBsonDocument(document, CODEC).getByteBuffer().remaining();
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.backend.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Remembers normalized search queries that recently produced no usable movies, so repeating them
+ * does not run the Netzkino/TMDB pipeline again. Entries are bounded and expire after the TTL.
+ * The optional Bloom filter sits in front of the cache: most queries were never negative and are
+ * rejected by it without touching the cache. Since a Bloom filter cannot forget, it is rebuilt
+ * from the live entries once it has taken as many insertions as it was sized for. It is sized for
+ * twice the cache, so a rebuild leaves at least half of it for new queries.
+ */
+@Component
+public class NegativeQueryCache {
+
+    private final Cache<String, Boolean> negatives;
+    private final boolean bloomEnabled;
+    private final int expectedInsertions;
+    private final double falsePositiveRate;
+
+    private BloomFilter<CharSequence> bloom;
+    private int bloomInsertions;
+    private int bloomRebuilds;
+
+    public NegativeQueryCache(@Value("${search.negative-cache.max-size:10000}") long maxSize,
+                              @Value("${search.negative-cache.ttl:PT30M}") Duration ttl,
+                              @Value("${search.negative-cache.bloom.enabled:true}") boolean bloomEnabled,
+                              @Value("${search.negative-cache.bloom.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.negatives = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.bloomEnabled = bloomEnabled;
+        this.expectedInsertions = (int) Math.max(1, Math.min(2 * maxSize, Integer.MAX_VALUE));
+        this.falsePositiveRate = falsePositiveRate;
+        this.bloom = bloomEnabled ? newBloom() : null;
+    }
+
+    public boolean isNegative(String query) {
+        String key = normalize(query);
+        if (key.isEmpty()) {
+            return false;
+        }
+        if (bloomEnabled && !mightContain(key)) {
+            return false;
+        }
+        return negatives.getIfPresent(key) != null;
+    }
+
+    public void recordEmpty(String query) {
+        String key = normalize(query);
+        if (key.isEmpty()) {
+            return;
+        }
+        negatives.put(key, Boolean.TRUE);
+        if (bloomEnabled) {
+            addToBloom(key);
+        }
+    }
+
+    public long size() {
+        negatives.cleanUp();
+        return negatives.size();
+    }
+
+    synchronized int bloomRebuilds() {
+        return bloomRebuilds;
+    }
+
+    private synchronized boolean mightContain(String key) {
+        return bloom.mightContain(key);
+    }
+
+    private synchronized void addToBloom(String key) {
+        if (bloomInsertions >= expectedInsertions) {
+            // ✅ drops expired and evicted queries that the old filter would still report
+            bloom = newBloom();
+            bloomInsertions = 0;
+            bloomRebuilds++;
+            negatives.cleanUp();
+            for (String live : negatives.asMap().keySet()) {
+                bloom.put(live);
+                bloomInsertions++;
+            }
+        }
+        if (bloom.put(key)) {
+            bloomInsertions++;
+        }
+    }
+
+    private BloomFilter<CharSequence> newBloom() {
+        return BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8), expectedInsertions, falsePositiveRate);
+    }
+
+    static String normalize(String query) {
+        if (query == null) {
+            return "";
+        }
+        return query.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+}
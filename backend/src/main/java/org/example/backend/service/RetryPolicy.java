@@ -0,0 +1,35 @@
+package org.example.backend.service;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides how often and how long MovieAPIService keeps retrying upstream searches.
+ */
+public interface RetryPolicy {
+
+    int maxAttempts();
+
+    /**
+     * Wall-clock budget for one call, including the backoff pauses.
+     */
+    Duration budget();
+
+    /**
+     * Pause before the given retry (1 = first retry).
+     */
+    Duration backoff(int retry);
+
+    /**
+     * Exponential backoff with full jitter: a random pause between zero and base * 2^(retry - 1),
+     * capped at max.
+     */
+    record ExponentialBackoff(int maxAttempts, Duration base, Duration max, Duration budget) implements RetryPolicy {
+
+        @Override
+        public Duration backoff(int retry) {
+            long ceiling = Math.min(max.toMillis(), base.toMillis() << Math.min(retry - 1, 20));
+            return ceiling <= 0 ? Duration.ZERO : Duration.ofMillis(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package org.example.backend.service;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Seed names for the daily Netzkino search. Names and optional prior weights come from a text
+ * file that is re-read when it changes. Each name's weight is scaled by its learned yield
+ * (movies per attempt, smoothed), which is shared between nodes through the seed_names
+ * collection, so names that keep failing are drawn less and less often.
+ */
+@Component
+public class SeedNameDictionary {
+
+    static final String COLLECTION = "seed_names";
+    static final int TARGET_MOVIES = 5;
+    private static final double MIN_YIELD = 0.02; // failing names fade out but can still recover
+
+    private final MongoTemplate mongoTemplate;
+    private final Resource resource;
+
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+    private volatile Map<String, Double> priors = Map.of();
+    private volatile AliasTable<String> table;
+    private volatile long loadedModified = -1;
+
+    public SeedNameDictionary(MongoTemplate mongoTemplate,
+                              ResourceLoader resourceLoader,
+                              @Value("${seed-names.location:classpath:seed-names.txt}") String location) {
+        this.mongoTemplate = mongoTemplate;
+        this.resource = resourceLoader.getResource(location);
+        reloadNames();
+    }
+
+    /**
+     * Weighted pick that only depends on the seed and the current weights.
+     */
+    public String sample(String seed) {
+        HashCode hash = Hashing.murmur3_128().hashString(seed, StandardCharsets.UTF_8);
+        long bits = hash.asLong();
+        int index = (int) (bits >>> 32);
+        double coin = (bits & 0xFFFFFFFFL) / (double) (1L << 32);
+        return table().sample(index, coin);
+    }
+
+    /**
+     * Highest-weight name that is not in {@code exclude}. Equal weights are ordered by a hash of
+     * the seed, so different calls spread over the names while every node agrees on the order.
+     */
+    public Optional<String> bestUnused(String seed, Set<String> exclude) {
+        return priors.keySet().stream()
+                .filter(name -> !exclude.contains(name))
+                .max(Comparator.<String>comparingDouble(this::weight)
+                        .thenComparingInt(name -> Hashing.murmur3_32_fixed().hashString(seed + "|" + name, StandardCharsets.UTF_8).asInt()));
+    }
+
+    public List<String> names() {
+        return List.copyOf(priors.keySet());
+    }
+
+    /**
+     * Records how many movies one search with this name produced.
+     */
+    public void recordResult(String name, int movies) {
+        if (!priors.containsKey(name)) {
+            return;
+        }
+        double yield = Math.min(1.0, movies / (double) TARGET_MOVIES);
+        stats.compute(name, (n, s) -> (s == null ? Stats.EMPTY : s).plus(1, yield));
+        table = null;
+        try {
+            mongoTemplate.upsert(Query.query(Criteria.where("_id").is(name)),
+                    new Update().inc("attempts", 1).inc("yield", yield), COLLECTION);
+        } catch (Exception e) {
+            System.out.println("Failed to store seed name result for " + name + ": " + e.getMessage());
+        }
+    }
+
+    double weight(String name) {
+        Stats s = stats.getOrDefault(name, Stats.EMPTY);
+        // Laplace smoothing: unknown names start at 0.5, repeated failures push towards 0
+        double learned = (s.yield + 1) / (s.attempts + 2);
+        return priors.getOrDefault(name, 0.0) * Math.max(MIN_YIELD, learned);
+    }
+
+    @Scheduled(fixedDelayString = "${seed-names.reload-interval:PT10M}", initialDelayString = "${seed-names.reload-interval:PT10M}")
+    public void reload() {
+        reloadNames();
+        loadStats();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadStats() {
+        try {
+            Map<String, Stats> loaded = new HashMap<>();
+            for (Document doc : mongoTemplate.findAll(Document.class, COLLECTION)) {
+                Number attempts = doc.get("attempts", Number.class);
+                Number yield = doc.get("yield", Number.class);
+                loaded.put(doc.getString("_id"), new Stats(
+                        attempts == null ? 0 : attempts.doubleValue(),
+                        yield == null ? 0 : yield.doubleValue()));
+            }
+            stats.clear();
+            stats.putAll(loaded);
+            table = null;
+        } catch (Exception e) {
+            System.out.println("Failed to load seed name statistics: " + e.getMessage());
+        }
+    }
+
+    synchronized void reloadNames() {
+        try {
+            long modified = lastModified();
+            if (modified != -1 && modified == loadedModified) {
+                return;
+            }
+            Map<String, Double> loaded = parse();
+            if (loaded.isEmpty()) {
+                System.out.println("Seed name file " + resource.getDescription() + " is empty, keeping the previous names.");
+                return;
+            }
+            priors = loaded;
+            loadedModified = modified;
+            table = null;
+            System.out.println("Loaded " + loaded.size() + " seed names from " + resource.getDescription());
+        } catch (IOException e) {
+            if (priors.isEmpty()) {
+                throw new IllegalStateException("Cannot read seed names from " + resource.getDescription(), e);
+            }
+            System.out.println("Failed to reload seed names, keeping the previous ones: " + e.getMessage());
+        }
+    }
+
+    private AliasTable<String> table() {
+        AliasTable<String> current = table;
+        if (current == null) {
+            List<String> names = new ArrayList<>(priors.keySet());
+            double[] weights = names.stream().mapToDouble(this::weight).toArray();
+            current = new AliasTable<>(names, weights);
+            table = current;
+        }
+        return current;
+    }
+
+    // "Name" or "Name;weight", blank lines, # comments and malformed or non-finite weights are skipped,
+    // duplicates keep the first entry
+    private Map<String, Double> parse() throws IOException {
+        Map<String, Double> loaded = new LinkedHashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = line.split(";", 2);
+                String name = parts[0].trim();
+                double weight;
+                try {
+                    weight = parts.length > 1 ? Double.parseDouble(parts[1].trim()) : 1.0;
+                } catch (NumberFormatException e) {
+                    System.out.println("Skipping seed name with malformed weight: " + line);
+                    continue;
+                }
+                if (!name.isEmpty() && Double.isFinite(weight) && weight > 0) {
+                    loaded.putIfAbsent(name, weight);
+                }
+            }
+        }
+        return loaded;
+    }
+
+    private long lastModified() {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private record Stats(double attempts, double yield) {
+        static final Stats EMPTY = new Stats(0, 0);
+
+        Stats plus(double attempts, double yield) {
+            return new Stats(this.attempts + attempts, this.yield + yield);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.backend.service;
+
+import org.example.backend.model.User;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class UserService {
+
+    private final MongoTemplate mongoTemplate;
+
+    public UserService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    // ✅ The unique index is what makes concurrent registrations of the same user safe
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        try {
+            mongoTemplate.indexOps(User.class)
+                    .ensureIndex(new Index().on("githubId", Sort.Direction.ASC).unique().named("githubId_unique"));
+        } catch (Exception e) {
+            System.out.println("Could not create unique githubId index (duplicate users?): " + e.getMessage());
+        }
+    }
+
+    // ✅ Creates the user on first login and leaves existing users untouched, without any JVM lock
+    public User registerUser(String githubId, String username) {
+        Query byGithubId = Query.query(Criteria.where("githubId").is(githubId));
+        Update insertOnly = new Update()
+                .setOnInsert("githubId", githubId)
+                .setOnInsert("username", username)
+                .setOnInsert("favorites", List.of());
+        FindAndModifyOptions options = FindAndModifyOptions.options().upsert(true).returnNew(true);
+        try {
+            return mongoTemplate.findAndModify(byGithubId, insertOnly, options, User.class);
+        } catch (DuplicateKeyException e) {
+            // two upserts raced and the other one inserted first, so the user exists now
+            System.out.println("User " + githubId + " was registered concurrently, reading it back.");
+            return mongoTemplate.findOne(byGithubId, User.class);
+        }
+    }
+}
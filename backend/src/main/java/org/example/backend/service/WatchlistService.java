@@ -1,9 +1,13 @@
 package org.example.backend.service;
 
+import org.example.backend.dtos.MovieBatch;
+import org.example.backend.dtos.WatchlistWithMovies;
+import org.example.backend.exceptions.UserNotFoundException;
 import org.example.backend.model.User;
 import org.example.backend.repo.UserRepo;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,25 +15,49 @@ import java.util.Optional;
 public class WatchlistService {
 
     private final UserRepo userRepo;
+    private final WatchlistWriteBuffer writeBuffer;
+    private final MovieService movieService;
 
-    public WatchlistService(UserRepo userRepo) {
+    public WatchlistService(UserRepo userRepo, WatchlistWriteBuffer writeBuffer, MovieService movieService) {
         this.userRepo = userRepo;
+        this.writeBuffer = writeBuffer;
+        this.movieService = movieService;
+    }
+
+    // ✅ The user and all favorite movies in two reads, so the watchlist page needs a single request
+    public WatchlistWithMovies getWatchlistWithMovies(String githubId) {
+        System.out.println("Fetching watchlist with movies for user " + githubId);
+        Optional<User> userOpt = userRepo.findByGithubId(githubId);
+        if (writeBuffer.isEnabled()) {
+            userOpt = userOpt.map(writeBuffer::applyPending);
+        }
+        User user = userOpt.orElseThrow(() -> new UserNotFoundException("User with ID " + githubId + " not found in database."));
+        List<String> favorites = Optional.ofNullable(user.favorites()).orElse(List.of());
+        MovieBatch batch = movieService.getMoviesBySlugs(favorites);
+        return new WatchlistWithMovies(githubId, favorites, batch.movies(), batch.missing());
     }
 
     // ✅ Check if a movie is in the user's watchlist
     public boolean isMovieInWatchlist(String githubId, String movieSlug) {
         System.out.println("Checking if movie " + movieSlug + " is in watchlist for user " + githubId);
         Optional<User> userOpt = userRepo.findByGithubId(githubId);
+        if (writeBuffer.isEnabled()) {
+            userOpt = userOpt.map(writeBuffer::applyPending);
+        }
         return userOpt.map(user -> user.favorites().contains(movieSlug)).orElse(false);
     }
 
     // ✅ Add a movie to the watchlist
     public void addToWatchlist(String githubId, String movieSlug) {
         System.out.println("Adding movie " + movieSlug + " to watchlist for user " + githubId);
+        if (writeBuffer.isEnabled()) {
+            recordChange(githubId, movieSlug, true);
+            return;
+        }
         Optional<User> userOpt = userRepo.findByGithubId(githubId);
 
         userOpt.ifPresentOrElse(user -> {
-            List<String> favorites = user.favorites();
+            List<String> favorites = new ArrayList<>(user.favorites()); // the cached user must not change before the save
             if (!favorites.contains(movieSlug)) {
                 favorites.add(movieSlug);
                 userRepo.save(new User(user.id(), user.githubId(), user.username(), favorites));
@@ -42,10 +70,14 @@ public class WatchlistService {
 
     // ✅ Remove a movie from the watchlist
     public void removeFromWatchlist(String githubId, String movieSlug) {
+        if (writeBuffer.isEnabled()) {
+            recordChange(githubId, movieSlug, false);
+            return;
+        }
         Optional<User> userOpt = userRepo.findByGithubId(githubId);
 
         userOpt.ifPresentOrElse(user -> {
-            List<String> favorites = user.favorites();
+            List<String> favorites = new ArrayList<>(user.favorites()); // the cached user must not change before the save
             if (favorites.contains(movieSlug)) {
                 favorites.remove(movieSlug);
                 userRepo.save(new User(user.id(), user.githubId(), user.username(), favorites));
@@ -55,4 +87,16 @@ public class WatchlistService {
             }
         }, () -> System.out.println("User not found."));
     }
+
+    // write-behind mode: only the buffer is updated here, WatchlistWriteBuffer writes to Mongo later
+    private void recordChange(String githubId, String movieSlug, boolean add) {
+        userRepo.findByGithubId(githubId).map(writeBuffer::applyPending).ifPresentOrElse(user -> {
+            if (user.favorites().contains(movieSlug) != add) {
+                writeBuffer.record(githubId, movieSlug, add);
+                System.out.println("Watchlist change buffered.");
+            } else {
+                System.out.println(add ? "Movie already in watchlist." : "Movie not found in watchlist.");
+            }
+        }, () -> System.out.println("User not found."));
+    }
 }
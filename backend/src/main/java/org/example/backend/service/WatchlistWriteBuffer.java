@@ -0,0 +1,246 @@
+package org.example.backend.service;
+
+import jakarta.annotation.PreDestroy;
+import org.example.backend.cache.CacheConfig;
+import org.example.backend.exceptions.DatabaseException;
+import org.example.backend.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Optional write-behind mode for watchlist mutations. Changes are kept per githubId as the net
+ * difference to what is stored in Mongo, so an add followed by a remove cancels out, and reads
+ * overlay them immediately. Pending changes are flushed as one unordered bulk write on a fixed
+ * interval, as soon as the flush threshold is reached, and on shutdown. A caller that finds the
+ * buffer full has to flush it itself before its change is accepted.
+ */
+@Component
+public class WatchlistWriteBuffer {
+
+    private final MongoTemplate mongoTemplate;
+    private final CacheManager cacheManager;
+    private final boolean enabled;
+    private final int flushThreshold;
+    private final int maxPending;
+
+    // githubId -> slug -> pending change
+    private final Map<String, Map<String, PendingChange>> pending = new HashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private int pendingCount;
+
+    public WatchlistWriteBuffer(MongoTemplate mongoTemplate,
+                                CacheManager cacheManager,
+                                @Value("${watchlist.write-behind.enabled:false}") boolean enabled,
+                                @Value("${watchlist.write-behind.flush-threshold:200}") int flushThreshold,
+                                @Value("${watchlist.write-behind.max-pending:5000}") int maxPending) {
+        this.mongoTemplate = mongoTemplate;
+        this.cacheManager = cacheManager;
+        this.enabled = enabled;
+        this.flushThreshold = flushThreshold;
+        this.maxPending = Math.max(maxPending, flushThreshold);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Records that the slug should end up added (or removed) for the user. The caller has already
+     * checked that this differs from the current state including pending changes.
+     */
+    public void record(String githubId, String movieSlug, boolean add) {
+        if (pendingCount() >= maxPending) {
+            System.out.println("Watchlist write buffer is full, flushing before accepting more changes.");
+            flush();
+            if (pendingCount() >= maxPending) {
+                throw new DatabaseException("Watchlist changes could not be saved, please try again later.");
+            }
+        }
+
+        boolean reachedThreshold;
+        synchronized (this) {
+            Map<String, PendingChange> changes = pending.computeIfAbsent(githubId, id -> new LinkedHashMap<>());
+            PendingChange previous = changes.get(movieSlug);
+            if (previous != null && previous.add != add && !previous.flushing) {
+                // undoes a change that never reached Mongo
+                changes.remove(movieSlug);
+                pendingCount--;
+                if (changes.isEmpty()) {
+                    pending.remove(githubId);
+                }
+            } else {
+                if (changes.put(movieSlug, new PendingChange(add)) == null) {
+                    pendingCount++;
+                }
+            }
+            reachedThreshold = pendingCount >= flushThreshold;
+        }
+
+        if (reachedThreshold && flushLock.tryLock()) {
+            try {
+                flushLocked();
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns the pending state of the slug for the user, or empty if nothing is pending.
+     */
+    public synchronized Optional<Boolean> pendingState(String githubId, String movieSlug) {
+        Map<String, PendingChange> changes = pending.get(githubId);
+        if (changes == null || !changes.containsKey(movieSlug)) {
+            return Optional.empty();
+        }
+        return Optional.of(changes.get(movieSlug).add);
+    }
+
+    /**
+     * Returns the user with pending changes applied to the favorites.
+     */
+    public synchronized User applyPending(User user) {
+        Map<String, PendingChange> changes = pending.get(user.githubId());
+        if (changes == null) {
+            return user;
+        }
+        List<String> favorites = new ArrayList<>(Optional.ofNullable(user.favorites()).orElse(List.of()));
+        changes.forEach((slug, change) -> {
+            favorites.remove(slug);
+            if (change.add) {
+                favorites.add(slug);
+            }
+        });
+        return new User(user.id(), user.githubId(), user.username(), favorites);
+    }
+
+    public synchronized int pendingCount() {
+        return pendingCount;
+    }
+
+    @Scheduled(fixedDelayString = "${watchlist.write-behind.interval:PT2S}")
+    public void flushPeriodically() {
+        if (enabled && pendingCount() > 0) {
+            flush();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        if (!enabled) {
+            return;
+        }
+        // one retry, so a transient error during shutdown does not lose the buffered changes
+        for (int attempt = 0; attempt < 2 && pendingCount() > 0; attempt++) {
+            flush();
+        }
+        if (pendingCount() > 0) {
+            System.out.println("Lost " + pendingCount() + " watchlist changes on shutdown.");
+        }
+    }
+
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushLocked();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushLocked() {
+        Map<String, Map<String, PendingChange>> batch = new HashMap<>();
+        synchronized (this) {
+            pending.forEach((githubId, changes) -> {
+                changes.values().forEach(change -> change.flushing = true);
+                batch.put(githubId, new HashMap<>(changes));
+            });
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+        int updates = 0;
+        for (Map.Entry<String, Map<String, PendingChange>> entry : batch.entrySet()) {
+            Query byUser = Query.query(Criteria.where("githubId").is(entry.getKey()));
+            List<String> added = slugs(entry.getValue(), true);
+            List<String> removed = slugs(entry.getValue(), false);
+            // $addToSet and $pull on the same field cannot share one update
+            if (!added.isEmpty()) {
+                bulk.updateOne(byUser, new Update().addToSet("favorites").each(added.toArray()));
+                updates++;
+            }
+            if (!removed.isEmpty()) {
+                bulk.updateOne(byUser, new Update().pullAll("favorites", removed.toArray()));
+                updates++;
+            }
+        }
+
+        boolean success = false;
+        try {
+            bulk.execute();
+            success = true;
+            evictCachedUsers(batch.keySet());
+            System.out.println("Flushed " + updates + " watchlist updates for " + batch.size() + " users.");
+        } catch (Exception e) {
+            System.out.println("Failed to flush watchlist changes: " + e.getMessage());
+        } finally {
+            complete(batch, success);
+        }
+    }
+
+    // drops the flushed changes unless they were replaced in the meantime
+    private synchronized void complete(Map<String, Map<String, PendingChange>> batch, boolean success) {
+        batch.forEach((githubId, flushed) -> {
+            Map<String, PendingChange> changes = pending.get(githubId);
+            if (changes == null) {
+                return;
+            }
+            flushed.forEach((slug, change) -> {
+                change.flushing = false;
+                if (success && changes.remove(slug, change)) {
+                    pendingCount--;
+                }
+            });
+            if (changes.isEmpty()) {
+                pending.remove(githubId);
+            }
+        });
+    }
+
+    // bulk writes bypass UserCacheListener, and the flushed changes stop being overlaid
+    private void evictCachedUsers(Set<String> githubIds) {
+        Cache users = cacheManager.getCache(CacheConfig.USERS);
+        if (users != null) {
+            githubIds.forEach(users::evict);
+        }
+    }
+
+    private static List<String> slugs(Map<String, PendingChange> changes, boolean add) {
+        return changes.entrySet().stream()
+                .filter(e -> e.getValue().add == add)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private static final class PendingChange {
+        private final boolean add;
+        private boolean flushing;
+
+        PendingChange(boolean add) {
+            this.add = add;
+        }
+    }
+}
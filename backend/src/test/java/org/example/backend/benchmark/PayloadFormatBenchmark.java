@@ -0,0 +1,98 @@
+package org.example.backend.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.example.backend.model.Movie;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares payload size and (de)serialization cost of JSON, CBOR and Smile for a 1k-movie catalogue.
+ * Not a test, run it with:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.example.backend.benchmark.PayloadFormatBenchmark
+ */
+public class PayloadFormatBenchmark {
+
+    private static final int MOVIES = 1000;
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int MEASURED_ROUNDS = 500;
+
+    public static void main(String[] args) throws IOException {
+        List<Movie> catalogue = catalogue(args.length > 0 ? Integer.parseInt(args[0]) : MOVIES);
+        Map<String, ObjectMapper> mappers = Map.of(
+                "json", mapper(new ObjectMapper()),
+                "cbor", mapper(new ObjectMapper(new CBORFactory())),
+                "smile", mapper(new ObjectMapper(new SmileFactory()))
+        );
+
+        System.out.printf("%-6s %10s %10s %14s %14s%n", "format", "bytes", "gzip", "write us/op", "read us/op");
+        for (String format : List.of("json", "cbor", "smile")) {
+            ObjectMapper mapper = mappers.get(format);
+            byte[] payload = mapper.writeValueAsBytes(catalogue);
+
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                mapper.readValue(mapper.writeValueAsBytes(catalogue), new TypeReference<List<Movie>>() {});
+            }
+
+            long start = System.nanoTime();
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                mapper.writeValueAsBytes(catalogue);
+            }
+            long writeNanos = (System.nanoTime() - start) / MEASURED_ROUNDS;
+
+            start = System.nanoTime();
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                mapper.readValue(payload, new TypeReference<List<Movie>>() {});
+            }
+            long readNanos = (System.nanoTime() - start) / MEASURED_ROUNDS;
+
+            System.out.printf("%-6s %10d %10d %14.1f %14.1f%n", format, payload.length, gzip(payload).length,
+                    writeNanos / 1000.0, readNanos / 1000.0);
+        }
+    }
+
+    private static ObjectMapper mapper(ObjectMapper mapper) {
+        return mapper.findAndRegisterModules().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private static byte[] gzip(byte[] payload) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(payload);
+        }
+        return out.toByteArray();
+    }
+
+    // shaped like real documents: long German overviews and full TMDB / Netzkino image urls
+    private static List<Movie> catalogue(int size) {
+        Random random = new Random(42);
+        String[] words = {"Ein", "junger", "Mann", "entdeckt", "das", "Geheimnis", "seiner", "Familie", "und", "muss",
+                "sich", "entscheiden", "zwischen", "Liebe", "Pflicht", "in", "einer", "Stadt", "voller", "Gefahren"};
+        List<Movie> movies = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            StringBuilder overview = new StringBuilder();
+            for (int w = 0; w < 60 + random.nextInt(60); w++) {
+                overview.append(words[random.nextInt(words.length)]).append(' ');
+            }
+            String slug = "film-" + i + "-" + Integer.toHexString(random.nextInt());
+            movies.add(new Movie(
+                    slug, 100000 + i, slug, "Film Nummer " + i, String.valueOf(1950 + random.nextInt(75)),
+                    overview.toString().trim(), "Regisseur " + random.nextInt(500), "Star A, Star B, Star C",
+                    "https://pmd.netzkino-seite.netzkino.de/wp-content/uploads/" + slug + "-featured.jpg",
+                    "https://pmd.netzkino-seite.netzkino.de/wp-content/uploads/" + slug + "-featured-300x169.jpg",
+                    "https://image.tmdb.org/t/p/original/" + Long.toHexString(random.nextLong()) + ".jpg",
+                    List.of("emma", "noah"), List.of(LocalDate.of(2025, 1, 1).plusDays(random.nextInt(365)))));
+        }
+        return movies;
+    }
+}
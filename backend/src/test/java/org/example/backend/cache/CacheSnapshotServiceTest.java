@@ -0,0 +1,109 @@
+package org.example.backend.cache;
+
+import org.example.backend.model.Movie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.CacheManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheSnapshotServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path snapshotPath;
+
+    @BeforeEach
+    void setUp() {
+        snapshotPath = tempDir.resolve("snapshot.bin");
+    }
+
+    private CacheSnapshotService service(CacheManager cacheManager) {
+        return new CacheSnapshotService(cacheManager, true, snapshotPath.toString(), 500, 2000);
+    }
+
+    private Movie movie(String slug, List<LocalDate> dateFetched) {
+        return new Movie(slug, 7, slug, "Title " + slug, "2010", "Überblick", "Director", "Stars",
+                "img1", "img2", "img3", List.of("query"), dateFetched);
+    }
+
+    @Test
+    void writeAndLoad_ShouldRestoreDailySelectionMoviesAndPosters() {
+        // GIVEN
+        LocalDate today = LocalDate.now();
+        CacheManager source = new CacheConfig().cacheManager(100, 300);
+        List<Movie> daily = List.of(movie("daily-1", List.of(today)), movie("daily-2", null));
+        source.getCache(CacheConfig.DAILY).put(today, daily);
+        source.getCache(CacheConfig.MOVIES).put("hot-1", movie("hot-1", List.of()));
+        source.getCache(CacheConfig.POSTERS).put("tt0468569", "https://image.tmdb.org/t/p/original/a.jpg");
+
+        // WHEN
+        service(source).write();
+        CacheManager target = new CacheConfig().cacheManager(100, 300);
+        service(target).load();
+
+        // THEN
+        assertEquals(daily, target.getCache(CacheConfig.DAILY).get(today, List.class));
+        assertEquals(movie("hot-1", List.of()), target.getCache(CacheConfig.MOVIES).get("hot-1", Movie.class));
+        assertEquals("https://image.tmdb.org/t/p/original/a.jpg", target.getCache(CacheConfig.POSTERS).get("tt0468569", String.class));
+    }
+
+    @Test
+    void write_ShouldKeepTheMostUsedMovies_WhenOverTheLimit() {
+        // GIVEN
+        CacheManager source = new CacheConfig().cacheManager(100, 300);
+        for (int i = 0; i < 10; i++) {
+            source.getCache(CacheConfig.MOVIES).put("cold-" + i, movie("cold-" + i, List.of()));
+        }
+        source.getCache(CacheConfig.MOVIES).put("hot", movie("hot", List.of()));
+        for (int i = 0; i < 3; i++) {
+            source.getCache(CacheConfig.MOVIES).get("hot", Movie.class);
+        }
+        source.getCache(CacheConfig.MOVIES).get("cold-4", Movie.class);
+
+        // WHEN
+        new CacheSnapshotService(source, true, snapshotPath.toString(), 2, 2000).write();
+        CacheManager target = new CacheConfig().cacheManager(100, 300);
+        service(target).load();
+
+        // THEN
+        assertNotNull(target.getCache(CacheConfig.MOVIES).get("hot"));
+        assertNotNull(target.getCache(CacheConfig.MOVIES).get("cold-4"));
+        assertNull(target.getCache(CacheConfig.MOVIES).get("cold-0"));
+    }
+
+    @Test
+    void load_ShouldSkipOutdatedDailySelection() {
+        // GIVEN
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        CacheManager source = new CacheConfig().cacheManager(100, 300);
+        source.getCache(CacheConfig.DAILY).put(yesterday, List.of(movie("old", List.of(yesterday))));
+        service(source).write();
+
+        // WHEN
+        CacheManager target = new CacheConfig().cacheManager(100, 300);
+        service(target).load();
+
+        // THEN
+        assertNull(target.getCache(CacheConfig.DAILY).get(yesterday));
+    }
+
+    @Test
+    void load_ShouldIgnoreCorruptSnapshot() throws IOException {
+        // GIVEN
+        Files.write(snapshotPath, new byte[]{1, 2, 3});
+        CacheManager target = new CacheConfig().cacheManager(100, 300);
+
+        // WHEN & THEN
+        assertDoesNotThrow(() -> service(target).load());
+        assertNull(target.getCache(CacheConfig.MOVIES).get("hot-1"));
+    }
+}
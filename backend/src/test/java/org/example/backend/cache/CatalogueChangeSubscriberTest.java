@@ -0,0 +1,148 @@
+package org.example.backend.cache;
+
+import org.bson.Document;
+import org.example.backend.model.Movie;
+import org.example.backend.model.User;
+import org.example.backend.repo.MovieRepo;
+import org.example.backend.service.AutocompleteService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CatalogueChangeSubscriberTest {
+
+    private MongoTemplate mongoTemplate;
+    private MovieRepo movieRepo;
+    private CacheManager cacheManager;
+    private AutocompleteService autocompleteService;
+    private CatalogueChangeSubscriber subscriber;
+
+    private static Movie movie(String slug, String title) {
+        return new Movie(slug, 1, slug, title, "2000", "", "", "", "", "", "", List.of(), List.of());
+    }
+
+    private CatalogueChangeSubscriber subscriber(String mode) {
+        return new CatalogueChangeSubscriber(mongoTemplate, movieRepo, cacheManager,
+                new MovieCacheEvictionListener(cacheManager), autocompleteService, mode, "node-1", Duration.ofMillis(10));
+    }
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        movieRepo = mock(MovieRepo.class);
+        autocompleteService = mock(AutocompleteService.class);
+        cacheManager = new ConcurrentMapCacheManager(CacheConfig.MOVIES, CacheConfig.DAILY, CacheConfig.USERS);
+        subscriber = subscriber("polling");
+    }
+
+    @Test
+    void handle_ShouldEvictAndReindexMovie_WhenChangedElsewhere() {
+        // GIVEN
+        Movie updated = movie("heat", "Heat (1995)");
+        MongoConverter converter = mock(MongoConverter.class);
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        when(converter.read(eq(Movie.class), any(Document.class))).thenReturn(updated);
+        cacheManager.getCache(CacheConfig.MOVIES).put("heat", movie("heat", "Heat"));
+        cacheManager.getCache(CacheConfig.DAILY).put(LocalDate.of(2025, 3, 1), List.of(movie("heat", "Heat")));
+
+        // WHEN
+        subscriber.handle("movies", "update", "heat", new Document("_id", "heat").append("t", "Heat (1995)"));
+
+        // THEN
+        assertNull(cacheManager.getCache(CacheConfig.MOVIES).get("heat"));
+        assertNull(cacheManager.getCache(CacheConfig.DAILY).get(LocalDate.of(2025, 3, 1)));
+        verify(autocompleteService).indexMovie(updated);
+    }
+
+    @Test
+    void handle_ShouldRemoveDeletedMovie_AndClearUsersOnUserDelete() {
+        // GIVEN
+        cacheManager.getCache(CacheConfig.MOVIES).put("heat", movie("heat", "Heat"));
+        cacheManager.getCache(CacheConfig.USERS).put("12345", new User("1", "12345", "user", List.of()));
+
+        // WHEN
+        subscriber.handle("movies", "delete", "heat", null);
+        subscriber.handle("users", "delete", "1", null);
+
+        // THEN
+        assertNull(cacheManager.getCache(CacheConfig.MOVIES).get("heat"));
+        assertNull(cacheManager.getCache(CacheConfig.USERS).get("12345"));
+        verify(autocompleteService).removeMovie("heat");
+    }
+
+    @Test
+    void pollMovies_ShouldOnlyEvictEntriesThatDifferFromMongo() {
+        // GIVEN
+        cacheManager.getCache(CacheConfig.MOVIES).put("heat", movie("heat", "Heat"));
+        cacheManager.getCache(CacheConfig.MOVIES).put("alien", movie("alien", "Alien"));
+        cacheManager.getCache(CacheConfig.MOVIES).put("up", movie("up", "Up"));
+        when(movieRepo.findBySlugIn(anyCollection())).thenReturn(List.of(movie("heat", "Heat"), movie("alien", "Aliens")));
+
+        // WHEN
+        subscriber.pollMovies();
+
+        // THEN
+        assertNotNull(cacheManager.getCache(CacheConfig.MOVIES).get("heat"));
+        assertNull(cacheManager.getCache(CacheConfig.MOVIES).get("alien"));
+        assertNull(cacheManager.getCache(CacheConfig.MOVIES).get("up"));
+    }
+
+    @Test
+    void pollUsers_ShouldEvictChangedUsers() {
+        // GIVEN
+        cacheManager.getCache(CacheConfig.USERS).put("12345", new User("1", "12345", "user", List.of()));
+        when(mongoTemplate.find(any(Query.class), eq(User.class)))
+                .thenReturn(List.of(new User("1", "12345", "user", List.of("heat"))));
+
+        // WHEN
+        subscriber.pollUsers();
+
+        // THEN
+        assertNull(cacheManager.getCache(CacheConfig.USERS).get("12345"));
+    }
+
+    @Test
+    void pollCatalogue_ShouldIndexAddedAndRemoveDeletedMovies() {
+        // GIVEN
+        when(mongoTemplate.find(any(Query.class), eq(Movie.class))).thenReturn(List.of(movie("heat", null), movie("up", null)));
+        when(autocompleteService.indexedSlugs()).thenReturn(Set.of("heat", "alien"));
+        Movie up = movie("up", "Up");
+        when(movieRepo.findBySlugIn(List.of("up"))).thenReturn(List.of(up));
+
+        // WHEN
+        subscriber.pollCatalogue();
+
+        // THEN
+        verify(autocompleteService).removeMovie("alien");
+        verify(autocompleteService).indexMovie(up);
+        verify(autocompleteService, never()).removeMovie("heat");
+    }
+
+    @Test
+    void start_ShouldNotWatch_WhenPollingOrOff() {
+        // GIVEN
+        CatalogueChangeSubscriber off = subscriber("off");
+
+        // WHEN
+        subscriber.start();
+        off.start();
+        off.poll();
+
+        // THEN
+        assertEquals(CatalogueChangeSubscriber.Mode.POLLING, subscriber.mode());
+        verifyNoInteractions(mongoTemplate, movieRepo);
+    }
+}
@@ -0,0 +1,115 @@
+package org.example.backend.cache;
+
+import org.bson.Document;
+import org.example.backend.model.User;
+import org.example.backend.repo.UserRepo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserCacheTest {
+
+    private static final User USER = new User("1", "12345", "testUser", List.of("movie-a"));
+
+    private AnnotationConfigApplicationContext context;
+    private UserRepo target;
+    private UserRepo userRepo;
+    private UserCacheListener listener;
+
+    @BeforeEach
+    void setUp() {
+        context = new AnnotationConfigApplicationContext(TestConfig.class);
+        target = context.getBean(TestConfig.class).target;
+        userRepo = context.getBean(UserRepo.class);
+        listener = new UserCacheListener(context.getBean(CacheManager.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @Test
+    void findByGithubId_ShouldOnlyHitMongoOnce_ForRepeatedLookups() {
+        // GIVEN
+        when(target.findByGithubId("12345")).thenReturn(Optional.of(USER));
+
+        // WHEN
+        for (int i = 0; i < 5; i++) {
+            assertEquals(Optional.of(USER), userRepo.findByGithubId("12345"));
+        }
+
+        // THEN
+        verify(target, times(1)).findByGithubId("12345");
+    }
+
+    @Test
+    void findByGithubId_ShouldNotCacheMissingUsers() {
+        // GIVEN
+        when(target.findByGithubId("12345")).thenReturn(Optional.empty());
+
+        // WHEN
+        userRepo.findByGithubId("12345");
+        userRepo.findByGithubId("12345");
+
+        // THEN
+        verify(target, times(2)).findByGithubId("12345");
+    }
+
+    @Test
+    void onAfterSave_ShouldWriteSavedUserThrough() {
+        // GIVEN
+        when(target.findByGithubId("12345")).thenReturn(Optional.of(USER));
+        userRepo.findByGithubId("12345");
+        User updated = new User("1", "12345", "testUser", List.of("movie-a", "movie-b"));
+
+        // WHEN
+        listener.onAfterSave(new AfterSaveEvent<>(updated, new Document(), "users"));
+
+        // THEN
+        assertEquals(Optional.of(updated), userRepo.findByGithubId("12345"));
+        verify(target, times(1)).findByGithubId("12345");
+    }
+
+    @Test
+    void onAfterDelete_ShouldEvictDeletedUsers() {
+        // GIVEN
+        when(target.findByGithubId("12345")).thenReturn(Optional.of(USER));
+        userRepo.findByGithubId("12345");
+
+        // WHEN
+        listener.onAfterDelete(new AfterDeleteEvent<>(new Document(), User.class, "users"));
+        userRepo.findByGithubId("12345");
+
+        // THEN
+        verify(target, times(2)).findByGithubId("12345");
+    }
+
+    @Configuration
+    @Import(CacheConfig.class)
+    static class TestConfig {
+
+        final UserRepo target = mock(UserRepo.class);
+
+        // interface proxy, so the @Cacheable on UserRepo is applied like it is on the Mongo repository
+        @Bean
+        UserRepo userRepo() {
+            return (UserRepo) Proxy.newProxyInstance(UserRepo.class.getClassLoader(),
+                    new Class<?>[]{UserRepo.class}, (proxy, method, args) -> method.invoke(target, args));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.backend.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.example.backend.controller.MovieController;
+import org.example.backend.model.Movie;
+import org.example.backend.security.SecurityConfig;
+import org.example.backend.security.SessionConfig;
+import org.example.backend.service.AutocompleteService;
+import org.example.backend.service.DailySelectionService;
+import org.example.backend.service.MovieAPIService;
+import org.example.backend.service.MovieService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(MovieController.class)
+@Import({BinaryFormatsConfig.class, SecurityConfig.class, SessionConfig.class})
+class BinaryFormatsConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RequestMappingHandlerAdapter handlerAdapter;
+
+    @MockitoBean
+    private MovieService movieService;
+
+    @MockitoBean
+    private MovieAPIService movieAPIService;
+
+    @MockitoBean
+    private AutocompleteService autocompleteService;
+
+    @MockitoBean
+    private DailySelectionService dailySelectionService;
+
+    private static Movie movie() {
+        return new Movie("1", 101, "slug-movie-1", "Inception", "2010", "A thief...", "Christopher Nolan",
+                "Leonardo DiCaprio", "img1", "img2", "img3", List.of("leo"), List.of(LocalDate.of(2024, 1, 1)));
+    }
+
+    @Test
+    void converters_ShouldReplaceTheDefaults_InsteadOfAddingASecondCopy() {
+        assertEquals(1, handlerAdapter.getMessageConverters().stream().filter(MappingJackson2CborHttpMessageConverter.class::isInstance).count());
+        assertEquals(1, handlerAdapter.getMessageConverters().stream().filter(MappingJackson2SmileHttpMessageConverter.class::isInstance).count());
+    }
+
+    @Test
+    void getAllMovies_ShouldWriteCbor_WithTheJsonDateFormat() throws Exception {
+        // GIVEN
+        when(movieService.getAllMovies()).thenReturn(List.of(movie()));
+
+        // WHEN
+        byte[] body = mockMvc.perform(get("/api/movies").accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // THEN dates are ISO strings as in JSON, Spring MVC's default converter writes them as arrays
+        JsonNode decoded = new ObjectMapper(new CBORFactory()).readTree(body);
+        assertEquals("2024-01-01", decoded.get(0).get("dateFetched").get(0).asText());
+    }
+
+    @Test
+    void getAllMovies_ShouldWriteSmile_WhenRequested() throws Exception {
+        // GIVEN
+        when(movieService.getAllMovies()).thenReturn(List.of(movie()));
+
+        // WHEN
+        byte[] body = mockMvc.perform(get("/api/movies").accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // THEN
+        JsonNode decoded = new ObjectMapper(new SmileFactory()).readTree(body);
+        assertEquals("Inception", decoded.get(0).get("title").asText());
+        assertEquals("2024-01-01", decoded.get(0).get("dateFetched").get(0).asText());
+    }
+}
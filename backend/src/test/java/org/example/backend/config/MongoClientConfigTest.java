@@ -0,0 +1,93 @@
+package org.example.backend.config;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.ReadPreference;
+import com.mongodb.ServerAddress;
+import com.mongodb.client.MongoClient;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.mongodb.MongoCommandTagsProvider;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class MongoClientConfigTest {
+
+    private final MongoClientConfig config = new MongoClientConfig();
+
+    @Test
+    void mongoClientTuning_ShouldApplyConfiguredPoolAndTimeouts() {
+        // GIVEN
+        MongoClientProperties properties = new MongoClientProperties(
+                new MongoClientProperties.Pool(2, 20, Duration.ofSeconds(1), null),
+                new MongoClientProperties.Timeouts(null, Duration.ofSeconds(3), Duration.ofMillis(500)),
+                Map.of());
+        MongoClientSettings.Builder builder = MongoClientSettings.builder();
+
+        // WHEN
+        config.mongoClientTuning(properties).customize(builder);
+        MongoClientSettings settings = builder.build();
+
+        // THEN
+        assertEquals(2, settings.getConnectionPoolSettings().getMinSize());
+        assertEquals(20, settings.getConnectionPoolSettings().getMaxSize());
+        assertEquals(1000, settings.getConnectionPoolSettings().getMaxWaitTime(TimeUnit.MILLISECONDS));
+        assertEquals(0, settings.getConnectionPoolSettings().getMaxConnectionIdleTime(TimeUnit.MILLISECONDS)); // driver default
+        assertEquals(3000, settings.getSocketSettings().getReadTimeout(TimeUnit.MILLISECONDS));
+        assertEquals(500, settings.getClusterSettings().getServerSelectionTimeout(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void repositoryTemplates_ShouldUseTheirOwnReadPreference() {
+        // GIVEN
+        MongoClientProperties properties = new MongoClientProperties(
+                new MongoClientProperties.Pool(null, null, null, null),
+                new MongoClientProperties.Timeouts(null, null, null),
+                Map.of("movies", "secondaryPreferred"));
+        SimpleMongoClientDatabaseFactory factory = new SimpleMongoClientDatabaseFactory(mock(MongoClient.class), "test");
+        MongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext());
+
+        // WHEN
+        MongoTemplate movies = config.movieMongoTemplate(factory, converter, properties);
+        MongoTemplate users = config.userMongoTemplate(factory, converter, properties);
+
+        // THEN
+        assertEquals(ReadPreference.secondaryPreferred(), movies.getReadPreference());
+        assertEquals(ReadPreference.primary(), users.getReadPreference());
+    }
+
+    @Test
+    void repositoryCommandTagsProvider_ShouldTagCommandsWithTheRepository() {
+        // GIVEN
+        MongoCommandTagsProvider provider = config.repositoryCommandTagsProvider();
+        ConnectionDescription connection = new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+        provider.commandStarted(new CommandStartedEvent(null, 1, 1, connection, "test", "find",
+                new BsonDocument("find", new BsonString("movies"))));
+
+        // WHEN
+        Iterable<Tag> tags = provider.commandTags(new CommandSucceededEvent(null, 1, 1, connection, "test", "find",
+                new BsonDocument(), 1000));
+
+        // THEN
+        assertTrue(StreamSupport.stream(tags.spliterator(), false)
+                .anyMatch(tag -> tag.getKey().equals("repository") && tag.getValue().equals("MovieRepo")));
+    }
+}
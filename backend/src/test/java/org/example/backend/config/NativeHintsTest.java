@@ -0,0 +1,32 @@
+package org.example.backend.config;
+
+import org.example.backend.dtos.netzkino.CustomFields;
+import org.example.backend.dtos.netzkino.NetzkinoResponse;
+import org.example.backend.dtos.netzkino.Post;
+import org.example.backend.dtos.tmdb.TmdbResponse;
+import org.example.backend.model.Movie;
+import org.example.backend.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NativeHintsTest {
+
+    @Test
+    void registerHints_ShouldRegisterBindingHintsForDtosAndDocuments() throws Exception {
+        // GIVEN
+        RuntimeHints hints = new RuntimeHints();
+
+        // WHEN
+        new NativeHints().registerHints(hints, getClass().getClassLoader());
+
+        // THEN
+        for (Class<?> type : new Class<?>[]{NetzkinoResponse.class, Post.class, CustomFields.class, TmdbResponse.class, Movie.class, User.class}) {
+            assertTrue(RuntimeHintsPredicates.reflection().onType(type).test(hints), "Missing hint for " + type);
+        }
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(Movie.class.getMethod("slug")).test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("seed-names.txt").test(hints));
+    }
+}
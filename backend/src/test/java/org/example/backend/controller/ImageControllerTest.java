@@ -0,0 +1,97 @@
+package org.example.backend.controller;
+
+import org.example.backend.model.Movie;
+import org.example.backend.service.ImageCacheService;
+import org.example.backend.service.MovieService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ImageControllerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private MovieService movieService;
+    private ImageCacheService imageCacheService;
+    private MockMvc mockMvc;
+
+    private final Movie movie = new Movie("slug-1", 1, "slug-1", "Inception", "2010", "overview", "director", "stars",
+            "https://netzkino/img.jpg", "https://netzkino/img-small.jpg", "https://image.tmdb.org/t/p/original/a.jpg",
+            List.of("leo"), List.of());
+
+    @BeforeEach
+    void setUp() {
+        movieService = mock(MovieService.class);
+        imageCacheService = mock(ImageCacheService.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(new ImageController(movieService, imageCacheService, "public, max-age=60")).build();
+    }
+
+    @Test
+    void getImage_ShouldStreamCachedFileWithCacheHeaders() throws Exception {
+        // GIVEN
+        Path file = Files.write(tempDir.resolve("img.jpg"), new byte[]{1, 2, 3, 4});
+        when(movieService.getMovieBySlug("slug-1")).thenReturn(movie);
+        when(imageCacheService.getImage(movie.imgImdb(), 320))
+                .thenReturn(new ImageCacheService.CachedImage(file, "image/jpeg", 4, "\"etag-1\""));
+
+        // WHEN & THEN
+        mockMvc.perform(get("/api/images/slug-1/imdb").param("w", "320"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "public, max-age=60"))
+                .andExpect(header().string("ETag", "\"etag-1\""))
+                .andExpect(content().contentType("image/jpeg"))
+                .andExpect(content().bytes(new byte[]{1, 2, 3, 4}));
+    }
+
+    @Test
+    void getImage_ShouldReturnNotModified_WhenEtagMatches() throws Exception {
+        // GIVEN
+        Path file = Files.write(tempDir.resolve("img.jpg"), new byte[]{1, 2, 3, 4});
+        when(movieService.getMovieBySlug("slug-1")).thenReturn(movie);
+        when(imageCacheService.getImage(movie.imgNetzkinoSmall(), null))
+                .thenReturn(new ImageCacheService.CachedImage(file, "image/jpeg", 4, "\"etag-1\""));
+
+        // WHEN & THEN
+        mockMvc.perform(get("/api/images/slug-1/netzkino-small").header("If-None-Match", "\"etag-1\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getImage_ShouldReturnNotModified_ForWeakListedAndWildcardEtags() throws Exception {
+        // GIVEN
+        Path file = Files.write(tempDir.resolve("img.jpg"), new byte[]{1, 2, 3, 4});
+        when(movieService.getMovieBySlug("slug-1")).thenReturn(movie);
+        when(imageCacheService.getImage(movie.imgNetzkinoSmall(), null))
+                .thenReturn(new ImageCacheService.CachedImage(file, "image/jpeg", 4, "\"etag-1\""));
+
+        // WHEN & THEN
+        for (String ifNoneMatch : List.of("W/\"etag-1\"", "\"etag-0\", \"etag-1\"", "*")) {
+            mockMvc.perform(get("/api/images/slug-1/netzkino-small").header("If-None-Match", ifNoneMatch))
+                    .andExpect(status().isNotModified());
+        }
+        mockMvc.perform(get("/api/images/slug-1/netzkino-small").header("If-None-Match", "\"etag-0\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(new byte[]{1, 2, 3, 4}));
+    }
+
+    @Test
+    void getImage_ShouldReturnBadRequest_WhenKindIsUnknown() throws Exception {
+        when(movieService.getMovieBySlug("slug-1")).thenReturn(movie);
+
+        mockMvc.perform(get("/api/images/slug-1/poster"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(imageCacheService);
+    }
+}
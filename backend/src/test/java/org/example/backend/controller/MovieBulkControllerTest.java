@@ -0,0 +1,108 @@
+package org.example.backend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.backend.dtos.MovieImportProgress;
+import org.example.backend.service.MovieBulkService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class MovieBulkControllerTest {
+
+    private MovieBulkService movieBulkService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        movieBulkService = mock(MovieBulkService.class);
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.findAndRegisterModules();
+        mockMvc = MockMvcBuilders.standaloneSetup(new MovieBulkController(movieBulkService, objectMapper)).build();
+    }
+
+    @Test
+    void exportMovies_ShouldGzipStream_WhenAccepted() throws Exception {
+        // GIVEN
+        when(movieBulkService.exportMovies(any(OutputStream.class))).thenAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(0).write("{\"slug\":\"heat\"}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        // WHEN
+        MvcResult result = mockMvc.perform(get("/api/movies/export").header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(content().contentType(MovieBulkController.NDJSON))
+                .andReturn();
+
+        // THEN
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            assertEquals("{\"slug\":\"heat\"}\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void exportMovies_ShouldStreamPlainNdjson_WithoutGzip() throws Exception {
+        // GIVEN
+        when(movieBulkService.exportMovies(any(OutputStream.class))).thenAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(0).write("{\"slug\":\"heat\"}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        // WHEN / THEN
+        mockMvc.perform(get("/api/movies/export"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(content().string("{\"slug\":\"heat\"}\n"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importMovies_ShouldReadGzippedBody_AndWriteProgressLines() throws Exception {
+        // GIVEN
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(gzipped)) {
+            out.write("{\"slug\":\"heat\"}\n".getBytes(StandardCharsets.UTF_8));
+        }
+        when(movieBulkService.importMovies(any(InputStream.class), any(Consumer.class))).thenAnswer(invocation -> {
+            String body = new String(invocation.<InputStream>getArgument(0).readAllBytes(), StandardCharsets.UTF_8);
+            assertEquals("{\"slug\":\"heat\"}\n", body);
+            Consumer<MovieImportProgress> progress = invocation.getArgument(1);
+            progress.accept(new MovieImportProgress(1, 1, 0, 0, List.of(), false));
+            MovieImportProgress done = new MovieImportProgress(1, 1, 0, 0, List.of(), true);
+            progress.accept(done);
+            return done;
+        });
+
+        // WHEN
+        String response = mockMvc.perform(post("/api/movies/import")
+                        .contentType(MovieBulkController.NDJSON)
+                        .header("Content-Encoding", "gzip")
+                        .content(gzipped.toByteArray()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // THEN
+        String[] lines = response.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[1].contains("\"done\":true"));
+    }
+}
@@ -1,6 +1,13 @@
 package org.example.backend.controller;
 
+import org.example.backend.dtos.MovieBatch;
+import org.example.backend.exceptions.GlobalExceptionHandler;
+import org.example.backend.exceptions.InvalidBatchException;
+import org.example.backend.exceptions.InvalidSearchQueryException;
+import org.example.backend.model.DailySelection;
 import org.example.backend.model.Movie;
+import org.example.backend.service.AutocompleteService;
+import org.example.backend.service.DailySelectionService;
 import org.example.backend.service.MovieAPIService;
 import org.example.backend.service.MovieService;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,22 +16,31 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.test.json.JsonCompareMode;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 class MovieControllerTest {
 
     private MovieService movieService;
     private MovieAPIService movieAPIService;
+    private AutocompleteService autocompleteService;
+    private DailySelectionService dailySelectionService;
     private MovieController movieController;
     private MockMvc mockMvc;
     private ObjectMapper objectMapper;
@@ -33,8 +49,12 @@ class MovieControllerTest {
     void setUp() {
         movieService = mock(MovieService.class);
         movieAPIService = mock(MovieAPIService.class);
-        movieController = new MovieController(movieService, movieAPIService);
-        mockMvc = MockMvcBuilders.standaloneSetup(movieController).build();
+        autocompleteService = mock(AutocompleteService.class);
+        dailySelectionService = mock(DailySelectionService.class);
+        movieController = new MovieController(movieService, movieAPIService, autocompleteService, dailySelectionService);
+        mockMvc = MockMvcBuilders.standaloneSetup(movieController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
         objectMapper = new ObjectMapper();
         objectMapper.findAndRegisterModules();
     }
@@ -188,43 +208,206 @@ class MovieControllerTest {
                 )
         );
 
-        when(movieAPIService.getMoviesOfTheDay(any())).thenReturn(dailyMovies);
+        when(dailySelectionService.getMoviesOfTheDay(nullable(String.class))).thenReturn(dailyMovies);
 
         // WHEN & THEN
         mockMvc.perform(get("/api/movies/daily"))
                 .andExpect(status().isOk())
                 .andExpect(content().json(objectMapper.writeValueAsString(dailyMovies)));
 
-        verify(movieAPIService).getMoviesOfTheDay(any());
+        verify(dailySelectionService).getMoviesOfTheDay(nullable(String.class));
     }
 
     @Test
     void getDailyMovies_ShouldReturnEmptyList_WhenNoMoviesAvailable() throws Exception {
         // GIVEN
-        when(movieAPIService.getMoviesOfTheDay(any())).thenReturn(List.of());
+        when(dailySelectionService.getMoviesOfTheDay(nullable(String.class))).thenReturn(List.of());
 
         // WHEN & THEN
         mockMvc.perform(get("/api/movies/daily"))
                 .andExpect(status().isOk())
                 .andExpect(content().json("[]")); // Expecting an empty JSON array
 
-        verify(movieAPIService).getMoviesOfTheDay(any());
+        verify(dailySelectionService).getMoviesOfTheDay(nullable(String.class));
     }
 
     @Test
     void getMoviesOfTheDay_ShouldHandleExceptionAndReturnEmptyList() {
         // GIVEN
-        List<String> queries = List.of("Inception");
-        when(movieAPIService.getMoviesOfTheDay(queries)).thenThrow(new RuntimeException("Database error"));
+        when(dailySelectionService.getMoviesOfTheDay("Europe/Berlin")).thenThrow(new RuntimeException("Database error"));
 
         // WHEN
-        ResponseEntity<List<Movie>> response = movieController.getDailyMovies();
+        ResponseEntity<List<?>> response = movieController.getDailyMovies(null, null, null);
 
         // THEN
         assertEquals(HttpStatus.OK, response.getStatusCode()); // Verify HTTP 500 status
         assertEquals(List.of(), response.getBody()); // Verify the body contains an empty list
     }
-}
 
+    @Test
+    void autocomplete_ShouldReturnSuggestionsForPrefix() throws Exception {
+        // GIVEN
+        when(autocompleteService.suggest("dar", 5)).thenReturn(List.of("The Dark Knight", "darkness"));
+
+        // WHEN & THEN
+        mockMvc.perform(get("/api/movies/autocomplete").param("prefix", "dar").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[\"The Dark Knight\", \"darkness\"]"));
+
+        verify(autocompleteService).suggest("dar", 5);
+    }
+
+    @Test
+    void getAllMovies_ShouldReturnCbor_WhenRequested() throws Exception {
+        // GIVEN
+        Movie movie = new Movie("1", 101, "slug-movie-1", "Inception", "2010", "A thief...", "Christopher Nolan",
+                "Leonardo DiCaprio", "img1", "img2", "img3", List.of("leo"), List.of(LocalDate.of(2024, 1, 1)));
+        when(movieService.getAllMovies()).thenReturn(List.of(movie));
+
+        // WHEN
+        byte[] body = mockMvc.perform(get("/api/movies").accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // THEN
+        ObjectMapper cborMapper = new ObjectMapper(new CBORFactory()).findAndRegisterModules();
+        List<Movie> decoded = cborMapper.readValue(body, new TypeReference<>() {});
+        assertEquals(List.of(movie), decoded);
+    }
+
+    @Test
+    void getAllMovies_ShouldReturnOnlyRequestedFields() throws Exception {
+        // GIVEN
+        List<Map<String, Object>> projected = List.of(Map.of("slug", "slug-movie-1", "title", "Inception"));
+        when(movieService.getAllMovies(List.of("slug", "title"))).thenReturn(projected);
+
+        // WHEN & THEN
+        mockMvc.perform(get("/api/movies").param("fields", "title,slug"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{\"slug\": \"slug-movie-1\", \"title\": \"Inception\"}]", JsonCompareMode.STRICT));
+
+        verify(movieService).getAllMovies(List.of("slug", "title"));
+        verify(movieService, never()).getAllMovies();
+    }
+
+    @Test
+    void getDailyMovies_ShouldApplyListView() throws Exception {
+        // GIVEN
+        Movie movie = new Movie("1", 101, "slug-movie-1", "Inception", "2010", "A thief...", "Christopher Nolan",
+                "Leonardo DiCaprio", "img1", "img2", "img3", List.of("leo"), List.of(LocalDate.of(2024, 1, 1)));
+        when(dailySelectionService.getMoviesOfTheDay(nullable(String.class))).thenReturn(List.of(movie));
+
+        // WHEN & THEN
+        mockMvc.perform(get("/api/movies/daily").param("view", "list"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(
+                        "[{\"slug\": \"slug-movie-1\", \"title\": \"Inception\", \"year\": \"2010\", \"imgNetzkinoSmall\": \"img2\"}]", JsonCompareMode.STRICT));
+    }
 
+    @Test
+    void getAllMovies_ShouldReturnBadRequest_WhenFieldIsUnknown() throws Exception {
+        // WHEN & THEN
+        mockMvc.perform(get("/api/movies").param("fields", "slug,password"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Unknown field: password"));
+
+        verifyNoInteractions(movieService);
+    }
+
+    @Test
+    void getDailyMovies_ShouldPassClientTimeZone() throws Exception {
+        // GIVEN
+        when(dailySelectionService.getMoviesOfTheDay("Asia/Tokyo")).thenReturn(List.of());
+
+        // WHEN & THEN
+        mockMvc.perform(get("/api/movies/daily").param("tz", "Asia/Tokyo"))
+                .andExpect(status().isOk());
 
+        verify(dailySelectionService).getMoviesOfTheDay("Asia/Tokyo");
+    }
+
+    @Test
+    void getMoviesBySlugs_ShouldReturnBatch() throws Exception {
+        // GIVEN
+        when(movieService.getMoviesBySlugs(List.of("heat", "alien")))
+                .thenReturn(new MovieBatch(List.of(new Movie("heat", 1, "heat", "Title", "2000", "", "", "", "", "", "", List.of(), List.of())), List.of("alien")));
+
+        // WHEN & THEN
+        mockMvc.perform(get("/api/movies/batch").param("slugs", "heat,alien"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.movies[0].slug").value("heat"))
+                .andExpect(jsonPath("$.missing[0]").value("alien"));
+    }
+
+    @Test
+    void getMoviesBySlugs_ShouldReturnBadRequest_WhenBatchIsTooLarge() throws Exception {
+        // GIVEN
+        when(movieService.getMoviesBySlugs(anyList())).thenThrow(new InvalidBatchException("At most 100 slugs can be requested at once."));
+
+        // WHEN & THEN
+        mockMvc.perform(get("/api/movies/batch").param("slugs", "heat"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void streamSearch_ShouldSendEveryMovieAndThenComplete() throws Exception {
+        // GIVEN
+        Movie heat = new Movie("heat", 1, "heat", "Heat", "1995", "", "", "", "", "", "", List.of("heat"), List.of());
+        when(movieAPIService.fetchMoviesBySearchQuery(eq("heat"), any())).thenAnswer(invocation -> {
+            Consumer<Movie> onMovie = invocation.getArgument(1);
+            onMovie.accept(heat);
+            return List.of(heat);
+        });
+
+        // WHEN
+        MvcResult result = mockMvc.perform(get("/api/movies/search/stream").param("query", "heat").param("fields", "slug"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(5000);
+
+        // THEN
+        String body = result.getResponse().getContentAsString();
+        assertTrue(body.contains("event:movie\ndata:{\"slug\":\"heat\"}"), body);
+        assertTrue(body.indexOf("event:complete") > body.indexOf("event:movie"), body);
+        assertTrue(body.contains("data:{\"count\":1}"), body);
+    }
+
+    @Test
+    void streamSearch_ShouldSendErrorEvent_WhenQueryIsInvalid() throws Exception {
+        // GIVEN
+        when(movieAPIService.fetchMoviesBySearchQuery(eq("Heat1"), any()))
+                .thenThrow(new InvalidSearchQueryException("Search query must contain only lowercase letters (a-z)."));
+
+        // WHEN
+        MvcResult result = mockMvc.perform(get("/api/movies/search/stream").param("query", "Heat1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(5000);
+
+        // THEN
+        String body = result.getResponse().getContentAsString();
+        assertTrue(body.contains("event:error"), body);
+        assertFalse(body.contains("event:complete"), body);
+    }
+
+    @Test
+    void getDailyHistory_ShouldReturnPageWithCursor() throws Exception {
+        // GIVEN
+        LocalDate date = LocalDate.of(2025, 3, 1);
+        when(dailySelectionService.getHistory(date, 1)).thenReturn(new DailySelectionService.DailyHistoryPage(
+                List.of(DailySelection.of(date.minusDays(1), List.of("heat"), Instant.EPOCH)), date.minusDays(1)));
+
+        // WHEN & THEN
+        mockMvc.perform(get("/api/movies/daily/history").param("before", "2025-03-01").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.days[0].slugs[0]").value("heat"))
+                .andExpect(jsonPath("$.next").exists());
+    }
+
+    @Test
+    void getDailyMoviesForDate_ShouldReturnBadRequest_WhenDateIsInvalid() throws Exception {
+        mockMvc.perform(get("/api/movies/daily/not-a-date"))
+                .andExpect(status().isBadRequest());
+    }
+}
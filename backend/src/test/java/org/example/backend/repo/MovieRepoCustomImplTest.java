@@ -0,0 +1,136 @@
+package org.example.backend.repo;
+
+import org.bson.Document;
+import org.example.backend.model.Movie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class MovieRepoCustomImplTest {
+
+    private MongoTemplate primaryTemplate;
+    private MongoTemplate movieTemplate;
+
+    private static Document legacy(String slug, String title) {
+        return new Document("_id", slug)
+                .append("netzkinoId", 7)
+                .append("slug", slug)
+                .append("title", title)
+                .append("imgImdb", "https://image.tmdb.org/t/p/original/" + slug + ".jpg")
+                .append("queries", List.of("nolan"));
+    }
+
+    @BeforeEach
+    void setUp() {
+        // set up like Spring Boot does, so LocalDate is a simple type
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        primaryTemplate = mock(MongoTemplate.class);
+        movieTemplate = mock(MongoTemplate.class);
+        when(primaryTemplate.getConverter()).thenReturn(converter);
+        when(movieTemplate.getConverter()).thenReturn(converter);
+    }
+
+    private MovieRepoCustomImpl repo(boolean migrate, String writeFormat) {
+        return new MovieRepoCustomImpl(primaryTemplate, movieTemplate, migrate, writeFormat);
+    }
+
+    private Query captured(MongoTemplate template) {
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(template).find(query.capture(), eq(Document.class), eq("movies"));
+        return query.getValue();
+    }
+
+    @Test
+    void findByQueriesContaining_ShouldMatchLegacyDocuments_ForSearchesAndDailyPicks() {
+        // GIVEN
+        when(primaryTemplate.find(any(Query.class), eq(Document.class), eq("movies")))
+                .thenReturn(List.of(legacy("inception", "Inception")));
+
+        // WHEN
+        List<Movie> movies = repo(true, "legacy").findByQueriesContaining("nolan").orElseThrow();
+
+        // THEN
+        assertEquals(new Document("$or", List.of(new Document("q", "nolan"), new Document("queries", "nolan"))),
+                captured(primaryTemplate).getQueryObject());
+        assertEquals(1, movies.size());
+        assertEquals("inception", movies.get(0).slug());
+        assertEquals("Inception", movies.get(0).title());
+        assertEquals(List.of("nolan"), movies.get(0).queries());
+        verifyNoInteractions(movieTemplate);
+    }
+
+    @Test
+    void findByQueriesContaining_ShouldOnlyMatchShortNames_OnceMigrated() {
+        // GIVEN
+        when(primaryTemplate.find(any(Query.class), eq(Document.class), eq("movies"))).thenReturn(List.of());
+
+        // WHEN
+        repo(true, "compact").findByQueriesContaining("nolan");
+
+        // THEN
+        assertEquals(new Document("q", "nolan"), captured(primaryTemplate).getQueryObject());
+    }
+
+    @Test
+    void findAllWithFields_ShouldProjectBothNames_WhileMigrationIsOff() {
+        // GIVEN
+        when(movieTemplate.find(any(Query.class), eq(Document.class), eq("movies")))
+                .thenReturn(List.of(new Document("_id", "heat").append("title", "Heat"),
+                        new Document("_id", "alien").append("t", "Alien")));
+
+        // WHEN
+        List<Movie> movies = repo(false, "compact").findAllWithFields(List.of("slug", "title"));
+
+        // THEN
+        assertEquals(new Document("s", 1).append("slug", 1).append("t", 1).append("title", 1),
+                captured(movieTemplate).getFieldsObject());
+        assertEquals(List.of("heat", "alien"), movies.stream().map(Movie::slug).toList());
+        assertEquals(List.of("Heat", "Alien"), movies.stream().map(Movie::title).toList());
+    }
+
+    @Test
+    void findAllWithFields_ShouldLeaveOutTheId_WhenNeitherIdNorSlugIsRequested() {
+        // GIVEN
+        when(movieTemplate.find(any(Query.class), eq(Document.class), eq("movies"))).thenReturn(List.of());
+
+        // WHEN
+        repo(true, "compact").findAllWithFields(List.of("title"));
+
+        // THEN
+        assertEquals(new Document("t", 1).append("_id", 0), captured(movieTemplate).getFieldsObject());
+    }
+
+    @Test
+    void findEnrichedSlugs_ShouldFindLegacyDocuments() {
+        // GIVEN
+        when(movieTemplate.find(any(Query.class), eq(Document.class), eq("movies")))
+                .thenReturn(List.of(new Document("_id", "inception").append("slug", "inception")));
+
+        // WHEN
+        List<String> slugs = repo(true, "legacy").findEnrichedSlugs();
+
+        // THEN
+        Document criteria = captured(movieTemplate).getQueryObject();
+        assertEquals(List.of("ii", "imgImdb"), criteria.getList("$or", Document.class).stream()
+                .map(branch -> branch.keySet().iterator().next()).toList());
+        assertEquals(List.of("inception"), slugs);
+    }
+}
@@ -0,0 +1,150 @@
+package org.example.backend.repo;
+
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MovieStorageFormatTest {
+
+    private static Document written(String id, String slug) {
+        // as Spring Data writes a movie with the short field names
+        return new Document("_id", id)
+                .append("_class", "org.example.backend.model.Movie")
+                .append("n", 101)
+                .append("s", slug)
+                .append("t", "Inception")
+                .append("y", "2010")
+                .append("o", "A thief who enters the dreams of others...")
+                .append("r", "Christopher Nolan")
+                .append("a", "Leonardo DiCaprio")
+                .append("in", "https://pmd.netzkino-seite.netzkino.de/wp-content/uploads/2020/01/inception.jpg")
+                .append("is", "https://pmd.netzkino-seite.netzkino.de/wp-content/uploads/2020/01/inception-300x169.jpg")
+                .append("ii", "https://image.tmdb.org/t/p/original/s3TBrRGB1iav7gFOCNx3H31MoES.jpg")
+                .append("q", List.of("nolan"))
+                .append("d", List.of());
+    }
+
+    private static Document legacy() {
+        return new Document("_id", "inception")
+                .append("netzkinoId", 101)
+                .append("slug", "inception")
+                .append("title", "Inception")
+                .append("year", "2010")
+                .append("overview", "A thief who enters the dreams of others...")
+                .append("regisseur", "Christopher Nolan")
+                .append("stars", "Leonardo DiCaprio")
+                .append("imgNetzkino", "https://pmd.netzkino-seite.netzkino.de/wp-content/uploads/2020/01/inception.jpg")
+                .append("imgNetzkinoSmall", "https://pmd.netzkino-seite.netzkino.de/wp-content/uploads/2020/01/inception-300x169.jpg")
+                .append("imgImdb", "https://image.tmdb.org/t/p/original/s3TBrRGB1iav7gFOCNx3H31MoES.jpg")
+                .append("queries", List.of("nolan"))
+                .append("dateFetched", List.of(new Date(0)))
+                .append("_class", "org.example.backend.model.Movie");
+    }
+
+    private static int size(Document document) {
+        return new RawBsonDocument(document, new DocumentCodec()).getByteBuffer().remaining();
+    }
+
+    @Test
+    void compact_ShouldDropDuplicateSlugAndShortenKnownImageHosts() {
+        // GIVEN
+        Document document = written("inception", "inception");
+
+        // WHEN
+        MovieStorageFormat.compact(document);
+
+        // THEN
+        assertFalse(document.containsKey("s"));
+        assertFalse(document.containsKey("_class"));
+        assertFalse(document.containsKey("d"));
+        assertEquals("2:2020/01/inception.jpg", document.get("in"));
+        assertEquals("1:/s3TBrRGB1iav7gFOCNx3H31MoES.jpg", document.get("ii"));
+    }
+
+    @Test
+    void compact_ShouldKeepSlugThatDiffersFromId_AndUnknownImages() {
+        // GIVEN
+        Document document = written("1", "inception").append("ii", "N/A").append("is", "https://example.com/a.jpg");
+
+        // WHEN
+        MovieStorageFormat.compact(document);
+
+        // THEN
+        assertEquals("inception", document.get("s"));
+        assertEquals("N/A", document.get("ii"));
+        assertEquals("https://example.com/a.jpg", document.get("is"));
+    }
+
+    @Test
+    void expand_ShouldRestoreWhatCompactRemoved() {
+        // GIVEN
+        Document original = written("inception", "inception");
+        Document stored = MovieStorageFormat.compact(written("inception", "inception"));
+
+        // WHEN
+        MovieStorageFormat.expand(stored);
+
+        // THEN
+        assertEquals("inception", stored.get("s"));
+        assertEquals(original.get("in"), stored.get("in"));
+        assertEquals(original.get("is"), stored.get("is"));
+        assertEquals(original.get("ii"), stored.get("ii"));
+    }
+
+    @Test
+    void expand_ShouldReadLegacyDocuments() {
+        // GIVEN
+        Document document = legacy();
+        assertTrue(MovieStorageFormat.isLegacy(document));
+
+        // WHEN
+        MovieStorageFormat.expand(document);
+
+        // THEN
+        assertEquals("inception", document.get("s"));
+        assertEquals("Inception", document.get("t"));
+        assertEquals(101, document.get("n"));
+        assertEquals("https://image.tmdb.org/t/p/original/s3TBrRGB1iav7gFOCNx3H31MoES.jpg", document.get("ii"));
+        assertEquals(List.of(new Date(0)), document.get("d"));
+        assertFalse(document.containsKey("title"));
+    }
+
+    @Test
+    void legacy_ShouldWriteLongNamesAndFullUrls() {
+        // GIVEN
+        Document document = written("inception", null);
+
+        // WHEN
+        MovieStorageFormat.legacy(document);
+
+        // THEN
+        assertEquals("inception", document.get("slug"));
+        assertEquals("Inception", document.get("title"));
+        assertEquals(List.of("nolan"), document.get("queries"));
+        assertEquals("https://image.tmdb.org/t/p/original/s3TBrRGB1iav7gFOCNx3H31MoES.jpg", document.get("imgImdb"));
+        assertFalse(document.containsKey("t"));
+        assertFalse(document.containsKey("s"));
+        assertEquals(legacy().get("overview"), MovieStorageFormat.expand(document).get("o"));
+    }
+
+    @Test
+    void compactedLegacyDocument_ShouldBeMuchSmaller() {
+        // GIVEN
+        Document document = legacy();
+        document.remove("dateFetched");
+        int before = size(document);
+
+        // WHEN
+        int after = size(MovieStorageFormat.compact(MovieStorageFormat.expand(document)));
+
+        // THEN
+        assertFalse(MovieStorageFormat.isLegacy(document));
+        assertTrue(after < before * 0.7, before + " -> " + after);
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.backend.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompletionTrieTest {
+
+    private CompletionTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new CompletionTrie(3);
+    }
+
+    @Test
+    void complete_ShouldReturnSuggestionsOrderedByWeight() {
+        // GIVEN
+        trie.add("dark", "dark", 1);
+        trie.add("darkness", "darkness", 5);
+        trie.add("dare", "dare", 3);
+
+        // WHEN
+        List<String> result = trie.complete("dar", 10);
+
+        // THEN
+        assertEquals(List.of("darkness", "dare", "dark"), result);
+    }
+
+    @Test
+    void complete_ShouldRespectLimitAndCapacity() {
+        // GIVEN
+        trie.add("aa", "aa", 1);
+        trie.add("ab", "ab", 2);
+        trie.add("ac", "ac", 3);
+        trie.add("ad", "ad", 4);
+
+        // WHEN & THEN
+        assertEquals(List.of("ad", "ac"), trie.complete("a", 2));
+        assertEquals(List.of("ad", "ac", "ab"), trie.complete("a", 10));
+    }
+
+    @Test
+    void complete_ShouldDeduplicateSuggestionsReachableThroughSeveralKeys() {
+        // GIVEN
+        trie.add("the dark knight", "The Dark Knight", 2);
+        trie.add("dark knight", "The Dark Knight", 2);
+        trie.add("knight", "The Dark Knight", 2);
+
+        // WHEN & THEN
+        assertEquals(List.of("The Dark Knight"), trie.complete("dark", 10));
+        assertEquals(List.of("The Dark Knight"), trie.complete("kni", 10));
+        assertEquals(3, trie.size());
+    }
+
+    @Test
+    void remove_ShouldDropSuggestionAndPruneEmptyBranches() {
+        // GIVEN
+        trie.add("matrix", "matrix", 1);
+        trie.add("mate", "mate", 1);
+
+        // WHEN
+        trie.remove("matrix", "matrix", 1);
+
+        // THEN
+        assertEquals(List.of("mate"), trie.complete("ma", 10));
+        assertEquals(List.of(), trie.complete("matr", 10));
+        assertEquals(1, trie.size());
+    }
+
+    @Test
+    void remove_ShouldOnlyLowerWeight_WhenSuggestionWasAddedTwice() {
+        // GIVEN
+        trie.add("leo", "leo", 1);
+        trie.add("leo", "leo", 1);
+
+        // WHEN
+        trie.remove("leo", "leo", 1);
+
+        // THEN
+        assertEquals(List.of("leo"), trie.complete("l", 10));
+    }
+
+    @Test
+    void complete_ShouldReturnEmptyList_WhenPrefixIsUnknownOrEmpty() {
+        trie.add("emma", "emma", 1);
+
+        assertEquals(List.of(), trie.complete("x", 10));
+        assertEquals(List.of(), trie.complete("", 10));
+        assertEquals(List.of(), trie.complete(null, 10));
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.backend.security;
+
+import org.example.backend.controller.MovieBulkController;
+import org.example.backend.dtos.MovieImportProgress;
+import org.example.backend.service.MovieBulkService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(MovieBulkController.class)
+@Import({SecurityConfig.class, SessionConfig.class})
+class ImportRequiresAuthenticationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private MovieBulkService movieBulkService;
+
+    @Test
+    void importMovies_ShouldBeUnauthorized_ForAnonymousRequests() throws Exception {
+        // WHEN / THEN
+        mockMvc.perform(post("/api/movies/import").contentType(MovieBulkController.NDJSON).content("{\"slug\":\"heat\"}\n"))
+                .andExpect(status().isUnauthorized());
+        verifyNoInteractions(movieBulkService);
+    }
+
+    @Test
+    @WithMockUser
+    @SuppressWarnings("unchecked")
+    void importMovies_ShouldRun_ForSignedInUsers() throws Exception {
+        // GIVEN
+        when(movieBulkService.importMovies(any(InputStream.class), any(Consumer.class)))
+                .thenReturn(new MovieImportProgress(1, 1, 0, 0, List.of(), true));
+
+        // WHEN / THEN
+        mockMvc.perform(post("/api/movies/import").contentType(MovieBulkController.NDJSON).content("{\"slug\":\"heat\"}\n"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void exportMovies_ShouldStayPublic() throws Exception {
+        // GIVEN
+        when(movieBulkService.exportMovies(any(OutputStream.class))).thenReturn(0L);
+
+        // WHEN / THEN
+        mockMvc.perform(get("/api/movies/export")).andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.backend.security;
+
+import org.example.backend.controller.MovieController;
+import org.example.backend.service.AutocompleteService;
+import org.example.backend.service.DailySelectionService;
+import org.example.backend.service.MovieAPIService;
+import org.example.backend.service.MovieService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(MovieController.class)
+@Import({SecurityConfig.class, SessionConfig.class})
+class StatelessPublicReadsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private MovieService movieService;
+
+    @MockitoBean
+    private MovieAPIService movieAPIService;
+
+    @MockitoBean
+    private AutocompleteService autocompleteService;
+
+    @MockitoBean
+    private DailySelectionService dailySelectionService;
+
+    @Test
+    void getDailyMovies_ShouldNotCreateSession() throws Exception {
+        // GIVEN
+        when(dailySelectionService.getMoviesOfTheDay(nullable(String.class))).thenReturn(List.of());
+
+        // WHEN
+        MvcResult result = mockMvc.perform(get("/api/movies/daily")).andExpect(status().isOk()).andReturn();
+
+        // THEN
+        assertNull(result.getRequest().getSession(false), "Anonymous reads must not create a session");
+        assertNull(result.getResponse().getCookie("SESSION"));
+    }
+
+    @Test
+    void getAllMovies_ShouldNotCreateSession() throws Exception {
+        // GIVEN
+        when(movieService.getAllMovies()).thenReturn(List.of());
+
+        // WHEN
+        MvcResult result = mockMvc.perform(get("/api/movies")).andExpect(status().isOk()).andReturn();
+
+        // THEN
+        assertNull(result.getRequest().getSession(false), "Anonymous reads must not create a session");
+    }
+}
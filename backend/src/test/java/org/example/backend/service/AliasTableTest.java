@@ -0,0 +1,51 @@
+package org.example.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AliasTableTest {
+
+    @Test
+    void sample_ShouldFollowWeights() {
+        // GIVEN
+        AliasTable<String> table = new AliasTable<>(List.of("a", "b", "c"), new double[]{1, 2, 7});
+        Random random = new Random(42);
+        Map<String, Integer> counts = new HashMap<>();
+
+        // WHEN
+        for (int i = 0; i < 100_000; i++) {
+            counts.merge(table.sample(random.nextInt(), random.nextDouble()), 1, Integer::sum);
+        }
+
+        // THEN
+        assertEquals(0.1, counts.get("a") / 100_000.0, 0.01);
+        assertEquals(0.2, counts.get("b") / 100_000.0, 0.01);
+        assertEquals(0.7, counts.get("c") / 100_000.0, 0.01);
+    }
+
+    @Test
+    void sample_ShouldNeverReturnZeroWeightItems() {
+        // GIVEN
+        AliasTable<String> table = new AliasTable<>(List.of("a", "b"), new double[]{0, 1});
+
+        // WHEN & THEN
+        for (int column = 0; column < 2; column++) {
+            for (double coin = 0; coin < 1; coin += 0.05) {
+                assertEquals("b", table.sample(column, coin));
+            }
+        }
+    }
+
+    @Test
+    void constructor_ShouldRejectInvalidWeights() {
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable<>(List.of("a"), new double[]{0}));
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable<>(List.of("a"), new double[]{-1}));
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable<>(List.of("a", "b"), new double[]{1}));
+    }
+}
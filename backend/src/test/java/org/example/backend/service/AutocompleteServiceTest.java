@@ -0,0 +1,107 @@
+package org.example.backend.service;
+
+import org.example.backend.model.Movie;
+import org.example.backend.model.Query;
+import org.example.backend.repo.MovieRepo;
+import org.example.backend.repo.QueryRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AutocompleteServiceTest {
+
+    private MovieRepo movieRepo;
+    private QueryRepo queryRepo;
+    private AutocompleteService autocompleteService;
+
+    @BeforeEach
+    void setUp() {
+        movieRepo = mock(MovieRepo.class);
+        queryRepo = mock(QueryRepo.class);
+        autocompleteService = new AutocompleteService(movieRepo, queryRepo, 10);
+    }
+
+    private Movie movie(String slug, String title, List<String> queries) {
+        return new Movie(slug, 1, slug, title, "2010", "overview", "director", "stars",
+                "img1", "img2", "img3", queries, List.of());
+    }
+
+    @Test
+    void rebuild_ShouldIndexTitlesMovieQueriesAndStoredQueries() {
+        // GIVEN
+        when(movieRepo.findAll()).thenReturn(List.of(movie("slug-knight", "The Dark Knight", List.of("christian"))));
+        when(queryRepo.findAll()).thenReturn(List.of(new Query("charlotte")));
+
+        // WHEN
+        autocompleteService.rebuild();
+
+        // THEN
+        assertEquals(List.of("The Dark Knight"), autocompleteService.suggest("dark", 10));
+        assertEquals(List.of("charlotte", "christian"), autocompleteService.suggest("ch", 10));
+        assertEquals(List.of("The Dark Knight"), autocompleteService.suggest("  THE ", 10));
+    }
+
+    @Test
+    void indexMovie_ShouldReplacePreviousEntries_WhenMovieIsUpdated() {
+        // GIVEN
+        autocompleteService.indexMovie(movie("slug-1", "Old Title", List.of()));
+
+        // WHEN
+        autocompleteService.indexMovie(movie("slug-1", "New Title", List.of()));
+
+        // THEN
+        assertEquals(List.of(), autocompleteService.suggest("old", 10));
+        assertEquals(List.of("New Title"), autocompleteService.suggest("new", 10));
+    }
+
+    @Test
+    void removeMovie_ShouldDropItsSuggestions() {
+        // GIVEN
+        autocompleteService.indexMovie(movie("slug-1", "Inception", List.of("leo")));
+
+        // WHEN
+        autocompleteService.removeMovie("slug-1");
+
+        // THEN
+        assertEquals(List.of(), autocompleteService.suggest("inc", 10));
+        assertEquals(List.of(), autocompleteService.suggest("leo", 10));
+    }
+
+    @Test
+    void suggest_ShouldListATitleAndTheSameQueryOnce_InTheTitlesSpelling() {
+        // GIVEN
+        autocompleteService.indexMovie(movie("slug-batman", "Batman", List.of("batman")));
+        autocompleteService.indexQuery("BATMAN");
+
+        // WHEN
+        List<String> suggestions = autocompleteService.suggest("bat", 10);
+
+        // THEN
+        assertEquals(List.of("Batman"), suggestions);
+    }
+
+    @Test
+    void suggest_ShouldFallBackToTheQuery_OnceTheTitleIsRemoved() {
+        // GIVEN
+        autocompleteService.indexMovie(movie("slug-batman", "Batman", List.of()));
+        autocompleteService.indexQuery("batman");
+
+        // WHEN
+        autocompleteService.removeMovie("slug-batman");
+
+        // THEN
+        assertEquals(List.of("batman"), autocompleteService.suggest("bat", 10));
+    }
+
+    @Test
+    void suggest_ShouldNotTouchRepositories() {
+        autocompleteService.indexQuery("emma");
+
+        assertEquals(List.of("emma"), autocompleteService.suggest("em", 10));
+        verifyNoInteractions(movieRepo, queryRepo);
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.backend.service;
+
+import org.bson.Document;
+import org.example.backend.model.DailySelection;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class DailyHistoryMaintenanceTest {
+
+    private static Date storedDate(LocalDate date) {
+        return Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    @Test
+    void migrateLegacyDates_ShouldCreateSelectionsPerDay_AndRemoveTheArrays() {
+        // GIVEN two legacy days, the second already has a selection
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        LocalDate first = LocalDate.of(2025, 3, 1);
+        LocalDate second = LocalDate.of(2025, 3, 2);
+        List<Document> days = List.of(
+                new Document("_id", storedDate(first)).append("slugs", List.of("heat", "alien")),
+                new Document("_id", storedDate(second)).append("slugs", List.of("up")));
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq("movies"), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(days, new Document()));
+        when(mongoTemplate.insert(any(DailySelection.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0))
+                .thenThrow(new DuplicateKeyException("E11000"));
+        DailyHistoryMaintenance maintenance = new DailyHistoryMaintenance(mongoTemplate, Duration.ofDays(400), true);
+
+        // WHEN
+        int migrated = maintenance.migrateLegacyDates();
+
+        // THEN
+        assertEquals(1, migrated);
+        ArgumentCaptor<DailySelection> inserted = ArgumentCaptor.forClass(DailySelection.class);
+        verify(mongoTemplate, times(2)).insert(inserted.capture());
+        assertEquals(first, inserted.getAllValues().get(0).date());
+        assertEquals(List.of("alien", "heat"), inserted.getAllValues().get(0).slugs());
+        verify(mongoTemplate).updateMulti(any(Query.class), any(Update.class), eq("movies"));
+        ArgumentCaptor<Aggregation> aggregation = ArgumentCaptor.forClass(Aggregation.class);
+        verify(mongoTemplate).aggregate(aggregation.capture(), eq("movies"), eq(Document.class));
+        Document group = aggregation.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT).get(2).get("$group", Document.class);
+        assertEquals("$d", group.get("_id"));
+        assertEquals(new Document("$addToSet", new Document("$ifNull", List.of("$s", "$_id"))), group.get("slugs"));
+    }
+
+    @Test
+    void ensureRetentionIndex_ShouldCreateTtlIndex_UnlessRetentionIsZero() {
+        // GIVEN
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        IndexOperations indexOps = mock(IndexOperations.class);
+        when(mongoTemplate.indexOps(DailySelection.class)).thenReturn(indexOps);
+
+        // WHEN
+        new DailyHistoryMaintenance(mongoTemplate, Duration.ofDays(30), false).ensureRetentionIndex();
+        new DailyHistoryMaintenance(mongoTemplate, Duration.ZERO, false).ensureRetentionIndex();
+
+        // THEN
+        ArgumentCaptor<IndexDefinition> index = ArgumentCaptor.forClass(IndexDefinition.class);
+        verify(indexOps, times(1)).ensureIndex(index.capture());
+        assertEquals(30L * 24 * 3600, ((Number) index.getValue().getIndexOptions().get("expireAfterSeconds")).longValue());
+    }
+}
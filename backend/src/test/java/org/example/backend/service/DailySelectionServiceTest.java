@@ -0,0 +1,276 @@
+package org.example.backend.service;
+
+import org.example.backend.cache.CacheConfig;
+import org.example.backend.model.DailySelection;
+import org.example.backend.model.Movie;
+import org.example.backend.repo.DailySelectionRepo;
+import org.example.backend.repo.MovieRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+
+import java.time.*;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DailySelectionServiceTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 3, 1);
+
+    private MovieAPIService movieAPIService;
+    private DailySelectionRepo selectionRepo;
+    private MovieRepo movieRepo;
+    private MoviePersistenceQueue persistenceQueue;
+    private CacheManager cacheManager;
+    private DailySelectionService service;
+
+    @BeforeEach
+    void setUp() {
+        movieAPIService = mock(MovieAPIService.class);
+        selectionRepo = mock(DailySelectionRepo.class);
+        movieRepo = mock(MovieRepo.class);
+        persistenceQueue = mock(MoviePersistenceQueue.class);
+        cacheManager = new ConcurrentMapCacheManager(CacheConfig.DAILY);
+        service = new DailySelectionService(movieAPIService, selectionRepo, movieRepo, persistenceQueue, cacheManager,
+                List.of("Asia/Tokyo", "Europe/Berlin", "America/New_York"), Duration.ofHours(2), Duration.ofMinutes(1));
+    }
+
+    private static Movie movie(String slug) {
+        return new Movie(slug, 1, slug, slug, "2020", "", "", "", "", "", "", List.of(), List.of(DATE));
+    }
+
+    @Test
+    void getMoviesOfTheDay_ShouldUseStoredSelection_AndKeepItsOrder() {
+        // GIVEN
+        when(selectionRepo.findById(DATE.toString()))
+                .thenReturn(Optional.of(DailySelection.of(DATE, List.of("b", "a"), Instant.now())));
+        when(movieRepo.findByIdIn(List.of("b", "a"))).thenReturn(List.of(movie("a"), movie("b")));
+
+        // WHEN
+        List<Movie> first = service.getMoviesOfTheDay(DATE);
+        List<Movie> second = service.getMoviesOfTheDay(DATE);
+
+        // THEN
+        assertEquals(List.of(movie("b"), movie("a")), first);
+        assertEquals(first, second);
+        verify(selectionRepo, times(1)).findById(DATE.toString()); // second call is served from memory
+        verifyNoInteractions(movieAPIService);
+    }
+
+    @Test
+    void getMoviesOfTheDay_ShouldGenerateAndStoreSelection_WhenNothingIsStored() {
+        // GIVEN
+        when(selectionRepo.findById(DATE.toString())).thenReturn(Optional.empty());
+        when(movieAPIService.getMoviesOfTheDay(null, DATE)).thenReturn(List.of(movie("a"), movie("b")));
+        when(movieRepo.findByIdIn(List.of("a", "b"))).thenReturn(List.of(movie("b"), movie("a")));
+
+        // WHEN
+        List<Movie> movies = service.getMoviesOfTheDay(DATE);
+
+        // THEN
+        assertEquals(List.of(movie("a"), movie("b")), movies);
+        InOrder inOrder = inOrder(persistenceQueue, selectionRepo);
+        inOrder.verify(persistenceQueue).flush();
+        inOrder.verify(selectionRepo).insert(argThat((DailySelection s) -> s.id().equals("2025-03-01") && s.slugs().equals(List.of("a", "b"))));
+    }
+
+    @Test
+    void getMoviesOfTheDay_ShouldOnlyListStoredMovies_WhenSomeCouldNotBeWritten() {
+        // GIVEN movie b is still queued or was dropped by the persistence queue
+        when(selectionRepo.findById(DATE.toString())).thenReturn(Optional.empty());
+        when(movieAPIService.getMoviesOfTheDay(null, DATE)).thenReturn(List.of(movie("a"), movie("b")));
+        when(movieRepo.findByIdIn(List.of("a", "b"))).thenReturn(List.of(movie("a")));
+
+        // WHEN
+        List<Movie> movies = service.getMoviesOfTheDay(DATE);
+
+        // THEN
+        assertEquals(List.of(movie("a"), movie("b")), movies);
+        verify(selectionRepo).insert(argThat((DailySelection s) -> s.slugs().equals(List.of("a"))));
+    }
+
+    @Test
+    void getMoviesOfTheDay_ShouldNotStoreSelection_WhenNoneOfItsMoviesAreStored() {
+        // GIVEN
+        when(selectionRepo.findById(DATE.toString())).thenReturn(Optional.empty());
+        when(movieAPIService.getMoviesOfTheDay(null, DATE)).thenReturn(List.of(movie("a")));
+        when(movieRepo.findByIdIn(List.of("a"))).thenReturn(List.of());
+
+        // WHEN
+        List<Movie> movies = service.getMoviesOfTheDay(DATE);
+
+        // THEN
+        assertEquals(List.of(movie("a")), movies);
+        verify(selectionRepo, never()).insert(any(DailySelection.class));
+    }
+
+    @Test
+    void getMoviesOfTheDay_ShouldServeWinningSelection_WhenAnotherInstanceStoredFirst() {
+        // GIVEN
+        when(selectionRepo.findById(DATE.toString()))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(DailySelection.of(DATE, List.of("c"), Instant.now())));
+        when(movieAPIService.getMoviesOfTheDay(null, DATE)).thenReturn(List.of(movie("a")));
+        when(movieRepo.findByIdIn(List.of("a"))).thenReturn(List.of(movie("a")));
+        when(selectionRepo.insert(any(DailySelection.class))).thenThrow(new DuplicateKeyException("E11000"));
+        when(movieRepo.findByIdIn(List.of("c"))).thenReturn(List.of(movie("c")));
+
+        // WHEN
+        List<Movie> movies = service.getMoviesOfTheDay(DATE);
+
+        // THEN
+        assertEquals(List.of(movie("c")), movies);
+    }
+
+    @Test
+    void getMoviesOfTheDay_ShouldShareOneGeneration_ForConcurrentRequests() throws Exception {
+        // GIVEN
+        when(selectionRepo.findById(DATE.toString())).thenReturn(Optional.empty());
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(movieAPIService.getMoviesOfTheDay(null, DATE)).thenAnswer(invocation -> {
+            fetching.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(movie("a"));
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // WHEN
+            Future<List<Movie>> first = executor.submit(() -> service.getMoviesOfTheDay(DATE));
+            assertTrue(fetching.await(5, TimeUnit.SECONDS));
+            Future<List<Movie>> second = executor.submit(() -> service.getMoviesOfTheDay(DATE));
+            Thread.sleep(100);
+            release.countDown();
+
+            // THEN
+            assertEquals(List.of(movie("a")), first.get(5, TimeUnit.SECONDS));
+            assertEquals(List.of(movie("a")), second.get(5, TimeUnit.SECONDS));
+            verify(movieAPIService, times(1)).getMoviesOfTheDay(null, DATE);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void getMoviesOfTheDay_ShouldBackOff_AfterAnUnproductiveGeneration() {
+        // GIVEN
+        when(selectionRepo.findById(DATE.toString())).thenReturn(Optional.empty());
+        when(movieAPIService.getMoviesOfTheDay(null, DATE)).thenReturn(List.of());
+
+        // WHEN
+        List<Movie> first = service.getMoviesOfTheDay(DATE);
+        List<Movie> second = service.getMoviesOfTheDay(DATE);
+
+        // THEN
+        assertTrue(first.isEmpty());
+        assertTrue(second.isEmpty());
+        verify(movieAPIService, times(1)).getMoviesOfTheDay(null, DATE);
+        verify(selectionRepo, never()).insert(any(DailySelection.class));
+    }
+
+    @Test
+    void resolveZone_ShouldFallBackToFirstConfiguredZone() {
+        assertEquals(ZoneId.of("Asia/Tokyo"), service.resolveZone(null));
+        assertEquals(ZoneId.of("Asia/Tokyo"), service.resolveZone("Mars/Olympus"));
+        assertEquals(ZoneId.of("America/Los_Angeles"), service.resolveZone("America/Los_Angeles"));
+    }
+
+    @Test
+    void datesDueBy_ShouldIncludeTomorrow_OnlyOnceTheEarliestZoneIsWithinTheLeadWindow() {
+        // GIVEN 2025-03-01 20:00 UTC is 05:00 on 03-02 in Tokyo, 21:00 in Berlin and 15:00 in New York
+        Instant now = Instant.parse("2025-03-01T20:00:00Z");
+
+        // WHEN
+        Set<LocalDate> dates = service.datesDueBy(now.plus(Duration.ofHours(2)));
+
+        // THEN
+        assertEquals(Set.of(DATE, DATE.plusDays(1)), dates);
+    }
+
+    @Test
+    void plan_ShouldScheduleGenerationWithinLeadWindowBeforeFirstMidnight() {
+        // GIVEN Tokyo is the first configured zone to reach 2025-03-02
+        Instant tokyoMidnight = DATE.plusDays(1).atStartOfDay(ZoneId.of("Asia/Tokyo")).toInstant();
+
+        for (int i = 0; i < 20; i++) {
+            // WHEN
+            Instant planned = service.plan(DATE.plusDays(1));
+
+            // THEN
+            assertFalse(planned.isBefore(tokyoMidnight.minus(Duration.ofHours(2))));
+            assertTrue(planned.isBefore(tokyoMidnight.minus(Duration.ofHours(1))));
+        }
+    }
+
+    @Test
+    void precomputeUpcoming_ShouldGenerateDatesThatAreDue() {
+        // GIVEN an instant long after the planned generation time of both dates
+        Instant now = Instant.parse("2025-03-01T16:00:00Z"); // 01:00 on 03-02 in Tokyo
+        when(selectionRepo.findById(anyString())).thenReturn(Optional.empty());
+        when(movieAPIService.getMoviesOfTheDay(eq(null), any(LocalDate.class))).thenReturn(List.of(movie("a")));
+        when(movieRepo.findByIdIn(List.of("a"))).thenReturn(List.of(movie("a")));
+
+        // WHEN
+        service.precomputeUpcoming(now);
+
+        // THEN
+        verify(movieAPIService).getMoviesOfTheDay(null, DATE);
+        verify(movieAPIService).getMoviesOfTheDay(null, DATE.plusDays(1));
+        verify(selectionRepo, times(2)).insert(any(DailySelection.class));
+    }
+
+    @Test
+    void getStoredMovies_ShouldNotGenerate_WhenDateHasNoSelection() {
+        // GIVEN
+        when(selectionRepo.findById(DATE.toString())).thenReturn(Optional.empty());
+
+        // WHEN
+        List<Movie> movies = service.getStoredMovies(DATE);
+
+        // THEN
+        assertEquals(List.of(), movies);
+        verifyNoInteractions(movieAPIService);
+    }
+
+    @Test
+    void getHistory_ShouldPageNewestFirst_WithCursorForTheNextPage() {
+        // GIVEN three stored days before the cursor and a page size of two
+        List<DailySelection> stored = List.of(
+                DailySelection.of(DATE, List.of("c"), Instant.EPOCH),
+                DailySelection.of(DATE.minusDays(1), List.of("b"), Instant.EPOCH),
+                DailySelection.of(DATE.minusDays(2), List.of("a"), Instant.EPOCH));
+        when(selectionRepo.findByIdLessThanOrderByIdDesc(DATE.plusDays(1).toString(), Limit.of(3))).thenReturn(stored);
+
+        // WHEN
+        DailySelectionService.DailyHistoryPage page = service.getHistory(DATE.plusDays(1), 2);
+
+        // THEN
+        assertEquals(List.of(DATE, DATE.minusDays(1)), page.days().stream().map(DailySelection::date).toList());
+        assertEquals(DATE.minusDays(1), page.next());
+    }
+
+    @Test
+    void getHistory_ShouldHaveNoCursor_OnTheLastPage() {
+        // GIVEN
+        when(selectionRepo.findByIdLessThanOrderByIdDesc(DATE.toString(), Limit.of(101)))
+                .thenReturn(List.of(DailySelection.of(DATE.minusDays(1), List.of("a"), Instant.EPOCH)));
+
+        // WHEN the requested page size is capped
+        DailySelectionService.DailyHistoryPage page = service.getHistory(DATE, 1000);
+
+        // THEN
+        assertEquals(1, page.days().size());
+        assertNull(page.next());
+    }
+}
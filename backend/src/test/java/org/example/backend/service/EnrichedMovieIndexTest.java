@@ -0,0 +1,83 @@
+package org.example.backend.service;
+
+import org.example.backend.model.Movie;
+import org.junit.jupiter.api.Test;
+import org.example.backend.repo.MovieRepo;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class EnrichedMovieIndexTest {
+
+    private static Movie movie(String slug, String imgImdb) {
+        return new Movie(slug, 1, slug, "Title", "2000", "", "", "", "", "", imgImdb, List.of(), List.of());
+    }
+
+    @Test
+    void rebuild_ShouldLoadEnrichedSlugsFromRepository() {
+        // GIVEN
+        MovieRepo movieRepo = mock(MovieRepo.class);
+        when(movieRepo.findEnrichedSlugs()).thenReturn(List.of("inception", "heat"));
+        EnrichedMovieIndex index = new EnrichedMovieIndex(movieRepo, 1000, 0.01);
+
+        // WHEN
+        index.rebuild();
+
+        // THEN
+        assertTrue(index.mightBeEnriched("inception"));
+        assertTrue(index.mightBeEnriched("heat"));
+        assertFalse(index.mightBeEnriched("alien"));
+    }
+
+    @Test
+    void add_ShouldOnlyIndexMoviesWithTmdbImage() {
+        // GIVEN
+        EnrichedMovieIndex index = new EnrichedMovieIndex(mock(MovieRepo.class), 1000, 0.01);
+
+        // WHEN
+        index.add(movie("inception", "https://image.tmdb.org/t/p/original/x.jpg"));
+        index.add(movie("heat", "N/A"));
+        index.add(movie("alien", ""));
+
+        // THEN
+        assertTrue(index.mightBeEnriched("inception"));
+        assertFalse(index.mightBeEnriched("heat"));
+        assertFalse(index.mightBeEnriched("alien"));
+        assertFalse(index.mightBeEnriched(null));
+    }
+
+    @Test
+    void add_ShouldRebuildFromMongo_WhenOverCapacity() {
+        // GIVEN
+        MovieRepo movieRepo = mock(MovieRepo.class);
+        when(movieRepo.findEnrichedSlugs()).thenReturn(List.of());
+        EnrichedMovieIndex index = new EnrichedMovieIndex(movieRepo, 2, 0.01);
+
+        // WHEN
+        for (int i = 0; i < 3; i++) {
+            index.add(movie("movie-" + i, "https://image.tmdb.org/t/p/original/" + i + ".jpg"));
+        }
+
+        // THEN
+        verify(movieRepo).findEnrichedSlugs();
+    }
+
+    @Test
+    void add_ShouldNotRebuildAgain_WhenTheCatalogueIsLargerThanExpected() {
+        // GIVEN 5 enriched movies stored, the index configured for 2
+        MovieRepo movieRepo = mock(MovieRepo.class);
+        when(movieRepo.findEnrichedSlugs()).thenReturn(List.of("a", "b", "c", "d", "e"));
+        EnrichedMovieIndex index = new EnrichedMovieIndex(movieRepo, 2, 0.01);
+        index.rebuild();
+
+        // WHEN
+        index.add(movie("f", "https://image.tmdb.org/t/p/original/f.jpg"));
+        index.add(movie("g", "https://image.tmdb.org/t/p/original/g.jpg"));
+
+        // THEN the rebuilt filter was sized for 10 slugs
+        verify(movieRepo, times(1)).findEnrichedSlugs();
+        assertTrue(index.mightBeEnriched("g"));
+    }
+}
@@ -0,0 +1,181 @@
+package org.example.backend.service;
+
+import org.example.backend.exceptions.ImageFetchException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.client.RestTemplate;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ImageCacheServiceTest {
+
+    private static final String URL = "https://image.tmdb.org/t/p/original/backdrop.jpg";
+
+    @TempDir
+    Path cacheDir;
+
+    private RestTemplate restTemplate;
+    private byte[] png;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        restTemplate = mock(RestTemplate.class);
+        png = png(1000, 500);
+    }
+
+    private ImageCacheService service(long maxBytes) {
+        return new ImageCacheService(restTemplate, cacheDir.toString(), maxBytes, new int[]{160, 480}, 0.8f);
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+
+    @Test
+    void getImage_ShouldFetchOriginalOnlyOnce() {
+        // GIVEN
+        when(restTemplate.getForObject(URL, byte[].class)).thenReturn(png);
+        ImageCacheService service = service(10_000_000);
+
+        // WHEN
+        ImageCacheService.CachedImage first = service.getImage(URL, null);
+        ImageCacheService.CachedImage second = service.getImage(URL, null);
+
+        // THEN
+        assertEquals(first.path(), second.path());
+        assertEquals("image/png", first.contentType());
+        assertEquals(png.length, first.size());
+        verify(restTemplate, times(1)).getForObject(URL, byte[].class);
+    }
+
+    @Test
+    void getImage_ShouldResizeToNextConfiguredWidth() throws IOException {
+        // GIVEN
+        when(restTemplate.getForObject(URL, byte[].class)).thenReturn(png);
+        ImageCacheService service = service(10_000_000);
+
+        // WHEN
+        ImageCacheService.CachedImage image = service.getImage(URL, 300);
+
+        // THEN
+        BufferedImage resized = ImageIO.read(image.path().toFile());
+        assertEquals("image/jpeg", image.contentType());
+        assertEquals(480, resized.getWidth());
+        assertEquals(240, resized.getHeight());
+    }
+
+    @Test
+    void getImage_ShouldServeOriginal_WhenWidthExceedsConfiguredWidths() {
+        // GIVEN
+        when(restTemplate.getForObject(URL, byte[].class)).thenReturn(png);
+        ImageCacheService service = service(10_000_000);
+
+        // WHEN
+        ImageCacheService.CachedImage image = service.getImage(URL, 2000);
+
+        // THEN
+        assertEquals("image/png", image.contentType());
+        assertEquals(png.length, image.size());
+    }
+
+    @Test
+    void getImage_ShouldDecodeOnlyOnce_WhenOriginalIsSmallerThanWidth() throws IOException {
+        // GIVEN
+        byte[] small = png(100, 50);
+        when(restTemplate.getForObject(URL, byte[].class)).thenReturn(small);
+        ImageCacheService service = spy(service(10_000_000));
+
+        // WHEN
+        ImageCacheService.CachedImage first = service.getImage(URL, 160);
+        ImageCacheService.CachedImage second = service.getImage(URL, 160);
+
+        // THEN
+        assertEquals(first.path(), second.path());
+        assertEquals("image/png", second.contentType());
+        assertEquals(small.length, second.size());
+        verify(service, times(1)).decode(any(Path.class));
+    }
+
+    @Test
+    void getImage_ShouldReuseFilesOnDisk_AfterRestart() {
+        // GIVEN
+        when(restTemplate.getForObject(URL, byte[].class)).thenReturn(png);
+        service(10_000_000).getImage(URL, 160);
+
+        // WHEN
+        ImageCacheService restarted = service(10_000_000);
+        restarted.getImage(URL, 160);
+
+        // THEN
+        verify(restTemplate, times(1)).getForObject(URL, byte[].class);
+    }
+
+    @Test
+    void getImage_ShouldEvictLeastRecentlyUsedFiles_WhenOverBudget() throws IOException {
+        // GIVEN
+        String otherUrl = "https://image.tmdb.org/t/p/original/other.jpg";
+        when(restTemplate.getForObject(URL, byte[].class)).thenReturn(png);
+        when(restTemplate.getForObject(otherUrl, byte[].class)).thenReturn(png);
+        ImageCacheService service = service(png.length + 10L);
+
+        // WHEN
+        Path first = service.getImage(URL, null).path();
+        Path second = service.getImage(otherUrl, null).path();
+
+        // THEN
+        assertFalse(Files.exists(first));
+        assertTrue(Files.exists(second));
+    }
+
+    @Test
+    void getImage_ShouldShareOneFetch_ForConcurrentRequests() throws Exception {
+        // GIVEN
+        CountDownLatch fetchStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(restTemplate.getForObject(URL, byte[].class)).thenAnswer(invocation -> {
+            fetchStarted.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return png;
+        });
+        ImageCacheService service = service(10_000_000);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // WHEN
+        Future<ImageCacheService.CachedImage> leader = executor.submit(() -> service.getImage(URL, null));
+        fetchStarted.await(5, TimeUnit.SECONDS);
+        Future<ImageCacheService.CachedImage> follower1 = executor.submit(() -> service.getImage(URL, null));
+        Future<ImageCacheService.CachedImage> follower2 = executor.submit(() -> service.getImage(URL, null));
+        Thread.sleep(100);
+        release.countDown();
+
+        // THEN
+        Path path = leader.get(5, TimeUnit.SECONDS).path();
+        assertEquals(path, follower1.get(5, TimeUnit.SECONDS).path());
+        assertEquals(path, follower2.get(5, TimeUnit.SECONDS).path());
+        verify(restTemplate, times(1)).getForObject(URL, byte[].class);
+        executor.shutdownNow();
+    }
+
+    @Test
+    void getImage_ShouldThrow_WhenUpstreamFails() {
+        // GIVEN
+        when(restTemplate.getForObject(URL, byte[].class)).thenThrow(new RuntimeException("timeout"));
+        ImageCacheService service = service(10_000_000);
+
+        // WHEN & THEN
+        assertThrows(ImageFetchException.class, () -> service.getImage(URL, null));
+        assertThrows(ImageFetchException.class, () -> service.getImage("N/A", null));
+    }
+}
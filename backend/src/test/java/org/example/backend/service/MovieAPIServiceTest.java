@@ -1,5 +1,6 @@
 package org.example.backend.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.example.backend.dtos.netzkino.*;
 import org.example.backend.dtos.tmdb.TmdbMovieResult;
 import org.example.backend.dtos.tmdb.TmdbResponse;
@@ -10,10 +11,15 @@ import org.example.backend.repo.MovieRepo;
 import org.example.backend.repo.QueryRepo;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.*;
@@ -27,6 +33,13 @@ class MovieAPIServiceTest {
     private MovieRepo movieRepository;
     private QueryRepo queryRepository;
     private RestTemplate restTemplate;
+    private static final RetryPolicy NO_BACKOFF =
+            new RetryPolicy.ExponentialBackoff(10, Duration.ZERO, Duration.ZERO, Duration.ofSeconds(30));
+
+    private SeedNameDictionary seedNames;
+    private NegativeQueryCache negativeQueries;
+    private EnrichedMovieIndex enrichedMovies;
+    private MoviePersistenceQueue persistenceQueue;
     private MovieAPIService movieAPIService;
 
     @BeforeEach
@@ -34,7 +47,12 @@ class MovieAPIServiceTest {
         movieRepository = mock(MovieRepo.class);
         queryRepository = mock(QueryRepo.class);
         restTemplate = mock(RestTemplate.class);
-        movieAPIService = new MovieAPIService(movieRepository, restTemplate, queryRepository, "dummyTmdbApiKey", "dummyNetzkinoEnv");
+        seedNames = new SeedNameDictionary(mock(MongoTemplate.class), new DefaultResourceLoader(), "classpath:seed-names.txt");
+        negativeQueries = new NegativeQueryCache(100, Duration.ofMinutes(5), true, 0.01);
+        enrichedMovies = new EnrichedMovieIndex(mock(MovieRepo.class), 1000, 0.01);
+        // written synchronously, so the tests can verify the saves right after the call
+        persistenceQueue = new MoviePersistenceQueue(movieRepository, queryRepository, new SimpleMeterRegistry(), false, 200, 2000, 3, Duration.ZERO);
+        movieAPIService = new MovieAPIService(movieRepository, restTemplate, queryRepository, new ConcurrentMapCacheManager(), seedNames, NO_BACKOFF, negativeQueries, enrichedMovies, persistenceQueue, "dummyTmdbApiKey", "dummyNetzkinoEnv");
     }
 
     @Test
@@ -196,7 +214,7 @@ class MovieAPIServiceTest {
     }
 
     @Test
-    void fetchMoviesBySearchQuery_ShouldFailWhenNoMoviesAreFoundAfterAttempts() {
+    void fetchMoviesBySearchQuery_ShouldReturnEmptyList_WhenNoMoviesAreFoundAfterAttempts() {
         // GIVEN
         String searchQuery = "Nonexistent";
         when(movieRepository.findByQueriesContaining(searchQuery)).thenReturn(Optional.empty());
@@ -208,35 +226,51 @@ class MovieAPIServiceTest {
         when(restTemplate.getForEntity(anyString(), eq(NetzkinoResponse.class)))
                 .thenReturn(ResponseEntity.ok(emptyResponse));
 
-        // WHEN & THEN
-        IllegalStateException exception = assertThrows(IllegalStateException.class,
-                () -> movieAPIService.fetchMoviesBySearchQuery(searchQuery));
+        // WHEN
+        List<Movie> movies = movieAPIService.fetchMoviesBySearchQuery(searchQuery);
 
-        assertEquals("Failed to fetch 5 movies after 10 attempts.", exception.getMessage());
+        // THEN the user's query is not topped up with seed names
+        assertEquals(List.of(), movies);
+        verify(restTemplate, times(1)).getForEntity(anyString(), eq(NetzkinoResponse.class));
+        verify(movieRepository, never()).saveAll(anyList());
+        assertTrue(negativeQueries.isNegative(searchQuery));
     }
 
 
     @Test
-    void getMoviesOfTheDay_ShouldReturnExistingMovies_WhenMoviesExistForToday() {
+    void getMoviesOfTheDay_ShouldReturnStoredMovies_WhenQueryWasAlreadyUsed() {
+        // GIVEN
+        Movie movie = new Movie("1", 101, "slug-movie-1", "Inception", "2010", "A mind-bending thriller", "Christopher Nolan", "Leonardo DiCaprio", "img1", "img2", "img3", List.of("Inception"), List.of());
+        when(queryRepository.findAll()).thenReturn(List.of(new Query("Inception")));
+        when(movieRepository.findByQueriesContaining("Inception")).thenReturn(Optional.of(List.of(movie)));
+
+        // WHEN
+        List<Movie> actualMovies = movieAPIService.getMoviesOfTheDay(List.of("Inception"));
+
+        // THEN
+        assertEquals(List.of(movie), actualMovies);
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void getMoviesOfTheDay_ShouldServeRepeatedCallsFromCache() {
         // GIVEN
-        LocalDate today = LocalDate.now();
-        Movie movie = new Movie("1", 101, "slug-movie-1", "Inception", "2010", "A mind-bending thriller", "Christopher Nolan", "Leonardo DiCaprio", "img1", "img2", "img3", List.of("Sci-Fi"), List.of(today));
-        when(movieRepository.findByDateFetchedContaining(today)).thenReturn(Optional.of(List.of(movie)));
+        Movie movie = new Movie("1", 101, "slug-movie-1", "Inception", "2010", "A mind-bending thriller", "Christopher Nolan", "Leonardo DiCaprio", "img1", "img2", "img3", List.of("Inception"), List.of());
+        when(queryRepository.findAll()).thenReturn(List.of(new Query("Inception")));
+        when(movieRepository.findByQueriesContaining("Inception")).thenReturn(Optional.of(List.of(movie)));
 
         // WHEN
+        movieAPIService.getMoviesOfTheDay(List.of("Inception"));
         List<Movie> actualMovies = movieAPIService.getMoviesOfTheDay(List.of("Inception"));
 
         // THEN
-        assertEquals(1, actualMovies.size());
-        assertEquals(movie, actualMovies.get(0));
-        verify(movieRepository).findByDateFetchedContaining(today);
+        assertEquals(List.of(movie), actualMovies);
+        verify(movieRepository, times(1)).findByQueriesContaining("Inception");
     }
 
     @Test
     void getMoviesOfTheDay_ShouldFetchNewMovies_WhenNoMoviesExistForToday() {
         // GIVEN
-        LocalDate today = LocalDate.now();
-        when(movieRepository.findByDateFetchedContaining(today)).thenReturn(Optional.empty());
         when(queryRepository.findAll()).thenReturn(List.of());
 
         // Mock Netzkino API response
@@ -364,7 +398,7 @@ class MovieAPIServiceTest {
         assertEquals("https://example.com/featured-img-small.jpg", movie.imgNetzkinoSmall());
         assertEquals("https://image.tmdb.org/t/p/original/sample-backdrop.jpg", movie.imgImdb());
 
-        verify(movieRepository).findByDateFetchedContaining(today);
+        assertEquals(List.of(), movie.dateFetched()); // the date is recorded in daily_selections instead
         verify(queryRepository).findAll();
         verify(movieRepository).saveAll(anyList());
         verify(queryRepository).save(any(Query.class));
@@ -376,27 +410,19 @@ class MovieAPIServiceTest {
     @Test
     void getMoviesOfTheDay_ShouldReturnEmptyList_WhenFetchingFails() {
         // GIVEN
-        when(movieRepository.findByDateFetchedContaining(any())).thenThrow(new RuntimeException("Database error"));
-
-        // WHEN & THEN
-        // Prepare the input and precheck for exceptions
         List<String> movieList = List.of("Some Movie");
         doThrow(new RuntimeException("Database error"))
-                .when(movieRepository)
-                .findByDateFetchedContaining(any());
+                .when(queryRepository)
+                .findAll();
 
-// Test the method invocation
+        // WHEN & THEN
         RuntimeException exception = assertThrows(RuntimeException.class, () -> movieAPIService.getMoviesOfTheDay(movieList));
-
-// Validate the exception message
         assertEquals("Database error", exception.getMessage());
-
     }
 
     @Test
-    void fetchAndStoreMovies_ShouldFailWhenNoMoviesAreEverFound() {
+    void fetchAndStoreMovies_ShouldReturnEmptyList_WhenNoMoviesAreEverFound() {
         // GIVEN
-        LocalDate today = LocalDate.now();
         List<String> movieQuery = List.of("Nonexistent");
 
         // Define the empty response
@@ -414,16 +440,15 @@ class MovieAPIServiceTest {
                 0          // Some count
         );
 
-        when(movieRepository.findByDateFetchedContaining(today)).thenReturn(Optional.empty());
         when(restTemplate.getForEntity(anyString(), eq(NetzkinoResponse.class)))
                 .thenReturn(ResponseEntity.ok(emptyResponse));
 
-        // WHEN & THEN
-        IllegalStateException exception = assertThrows(IllegalStateException.class,
-                () -> movieAPIService.getMoviesOfTheDay(movieQuery));
+        // WHEN
+        List<Movie> movies = movieAPIService.getMoviesOfTheDay(movieQuery);
 
-        // Validate exception message
-        assertEquals("Failed to fetch 5 movies after 10 attempts.", exception.getMessage());
+        // THEN
+        assertEquals(List.of(), movies);
+        verify(restTemplate, times(10)).getForEntity(anyString(), eq(NetzkinoResponse.class));
     }
 
 
@@ -461,6 +486,25 @@ class MovieAPIServiceTest {
         assertEquals("", imdbId);
     }
 
+    @Test
+    void fetchMoviePosterFromTmdb_ShouldCachePosterUrl() {
+        // GIVEN
+        String imdbId = "tt1234567";
+        TmdbResponse tmdbResponse = new TmdbResponse(
+                List.of(new TmdbMovieResult("/backdrop.jpg", 1, "Title", "Title", "Overview", "/poster.jpg",
+                        "movie", false, "en", List.of(), 1.0, "2010-01-01", false, 8.0, 100)),
+                List.of(), List.of(), List.of(), List.of());
+        when(restTemplate.getForEntity(anyString(), eq(TmdbResponse.class))).thenReturn(ResponseEntity.ok(tmdbResponse));
+
+        // WHEN
+        movieAPIService.fetchMoviePosterFromTmdb(imdbId);
+        String result = movieAPIService.fetchMoviePosterFromTmdb(imdbId);
+
+        // THEN
+        assertEquals("https://image.tmdb.org/t/p/original/backdrop.jpg", result);
+        verify(restTemplate, times(1)).getForEntity(anyString(), eq(TmdbResponse.class));
+    }
+
     @Test
     void fetchMoviePosterFromTmdb_ShouldReturnNA_WhenTmdbApiFails() {
         // GIVEN
@@ -553,10 +597,161 @@ class MovieAPIServiceTest {
         verify(movieRepository).findByQueriesContaining(query);
     }
 
-}
 
+    @Test
+    void seededIndex_ShouldBeStableAndWithinBounds() {
+        // WHEN
+        int first = MovieAPIService.seededIndex("2025-03-01", 250);
+        int second = MovieAPIService.seededIndex("2025-03-01", 250);
+
+        // THEN
+        assertEquals(first, second);
+        for (int day = 0; day < 365; day++) {
+            int index = MovieAPIService.seededIndex(LocalDate.of(2025, 1, 1).plusDays(day).toString(), 250);
+            assertTrue(index >= 0 && index < 250);
+        }
+    }
 
+    @Test
+    void getMoviesOfTheDay_ShouldPickTheSameQueryOnEveryNode_ForTheSameDate() {
+        // GIVEN two independent nodes and a date whose movies are not stored yet
+        LocalDate date = LocalDate.of(2025, 3, 1);
+        List<String> names = List.of("Liam", "Noah", "Olivia", "Emma", "Mia");
+        String expected = names.get(MovieAPIService.seededIndex(date.toString(), names.size()));
+        when(queryRepository.findAll()).thenReturn(names.stream().map(Query::new).toList());
+        MovieAPIService otherNode = new MovieAPIService(movieRepository, restTemplate, queryRepository,
+                new ConcurrentMapCacheManager(), seedNames, NO_BACKOFF, negativeQueries, enrichedMovies, persistenceQueue, "dummyTmdbApiKey", "dummyNetzkinoEnv");
 
+        // WHEN
+        movieAPIService.getMoviesOfTheDay(names, date);
+        otherNode.getMoviesOfTheDay(names, date);
 
+        // THEN
+        verify(movieRepository, times(2)).findByQueriesContaining(expected);
+        verify(movieRepository, times(2)).findByQueriesContaining(anyString());
+    }
 
+    @Test
+    void fetchAndStoreMovies_ShouldNotRepeatQueriesWithinOneCall() {
+        // GIVEN
+        NetzkinoResponse emptyResponse = new NetzkinoResponse(List.of(), "", "success", 0, 0, 0, 0, List.of(), "", 0, 0);
+        when(restTemplate.getForEntity(anyString(), eq(NetzkinoResponse.class))).thenReturn(ResponseEntity.ok(emptyResponse));
 
+        // WHEN
+        movieAPIService.fetchAndStoreMovies("Liam", List.of(LocalDate.of(2025, 3, 1)));
+
+        // THEN
+        ArgumentCaptor<String> urls = ArgumentCaptor.forClass(String.class);
+        verify(restTemplate, times(10)).getForEntity(urls.capture(), eq(NetzkinoResponse.class));
+        assertEquals(10, new HashSet<>(urls.getAllValues()).size());
+    }
+
+    @Test
+    void fetchAndStoreMovies_ShouldStopRetrying_WhenBudgetIsUsedUp() {
+        // GIVEN a budget that does not even cover the first pause
+        RetryPolicy tightBudget = new RetryPolicy.ExponentialBackoff(10, Duration.ofSeconds(1), Duration.ofSeconds(1), Duration.ZERO);
+        MovieAPIService service = new MovieAPIService(movieRepository, restTemplate, queryRepository,
+                new ConcurrentMapCacheManager(), seedNames, tightBudget, negativeQueries, enrichedMovies, persistenceQueue, "dummyTmdbApiKey", "dummyNetzkinoEnv");
+        NetzkinoResponse emptyResponse = new NetzkinoResponse(List.of(), "", "success", 0, 0, 0, 0, List.of(), "", 0, 0);
+        when(restTemplate.getForEntity(anyString(), eq(NetzkinoResponse.class))).thenReturn(ResponseEntity.ok(emptyResponse));
+
+        // WHEN
+        List<Movie> movies = service.fetchAndStoreMovies("Liam", List.of());
+
+        // THEN
+        assertEquals(List.of(), movies);
+        verify(restTemplate, times(1)).getForEntity(anyString(), eq(NetzkinoResponse.class));
+    }
+
+    @Test
+    void fetchMoviesBySearchQuery_ShouldSkipUpstream_WhenQueryRecentlyFoundNothing() {
+        // GIVEN
+        NetzkinoResponse emptyResponse = new NetzkinoResponse(List.of(), "", "success", 0, 0, 0, 0, List.of(), "", 0, 0);
+        when(movieRepository.findByQueriesContaining(anyString())).thenReturn(Optional.empty());
+        when(restTemplate.getForEntity(anyString(), eq(NetzkinoResponse.class))).thenReturn(ResponseEntity.ok(emptyResponse));
+        movieAPIService.fetchMoviesBySearchQuery("Xyzzy");
+        clearInvocations(restTemplate);
+
+        // WHEN
+        List<Movie> movies = movieAPIService.fetchMoviesBySearchQuery("XYZZY");
+
+        // THEN
+        assertEquals(List.of(), movies);
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void fetchMoviesBySearchQuery_ShouldRecordNegative_WhenOnlyTheUsersQueryIsEmpty() {
+        // GIVEN only the user's query comes back empty, every seed name would find movies
+        Post post = mock(Post.class);
+        when(post.slug()).thenReturn("seed-movie");
+        when(post.title()).thenReturn("Seed Movie");
+        when(post.content()).thenReturn("Overview");
+        when(post.custom_fields()).thenReturn(mock(CustomFields.class));
+        NetzkinoResponse emptyResponse = new NetzkinoResponse(List.of(), "", "success", 0, 0, 0, 0, List.of(), "", 0, 0);
+        NetzkinoResponse seedResponse = new NetzkinoResponse(List.of(), "", "success", 1, 1, 1, 1, List.of(post), "", 0, 0);
+        when(movieRepository.findByQueriesContaining(anyString())).thenReturn(Optional.empty());
+        when(restTemplate.getForEntity(anyString(), eq(NetzkinoResponse.class))).thenReturn(ResponseEntity.ok(seedResponse));
+        when(restTemplate.getForEntity(argThat((String url) -> url.toLowerCase().contains("?q=xyzzy&")), eq(NetzkinoResponse.class)))
+                .thenReturn(ResponseEntity.ok(emptyResponse));
+        Movie seedMovie = new Movie("seed-movie", 1, "seed-movie", "Seed Movie", "2000", "Overview", "Unknown", "Unknown",
+                "", "", "https://image.tmdb.org/t/p/original/seed.jpg", List.of("seed"), List.of());
+        enrichedMovies.add(seedMovie);
+        when(movieRepository.findAllById(anyIterable())).thenReturn(List.of(seedMovie));
+
+        // WHEN
+        List<Movie> first = movieAPIService.fetchMoviesBySearchQuery("XYZZY");
+        List<Movie> second = movieAPIService.fetchMoviesBySearchQuery("xyzzy");
+
+        // THEN
+        assertEquals(List.of(), first);
+        assertEquals(List.of(), second);
+        verify(restTemplate, times(1)).getForEntity(anyString(), eq(NetzkinoResponse.class));
+        verify(movieRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void fetchAndStoreMovies_ShouldReuseStoredImages_InsteadOfCallingTmdb() {
+        // GIVEN five posts whose movies are already stored with a TMDB image
+        List<Post> posts = new ArrayList<>();
+        List<Movie> stored = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            String slug = "stored-" + i;
+            Post post = mock(Post.class);
+            when(post.slug()).thenReturn(slug);
+            when(post.title()).thenReturn("Stored " + i);
+            when(post.content()).thenReturn("Overview");
+            when(post.custom_fields()).thenReturn(mock(CustomFields.class));
+            posts.add(post);
+            Movie movie = new Movie(slug, i, slug, "Stored " + i, "2000", "Overview", "Unknown", "Unknown",
+                    "", "", "https://image.tmdb.org/t/p/original/" + slug + ".jpg", List.of("older"), List.of());
+            stored.add(movie);
+            enrichedMovies.add(movie);
+        }
+        NetzkinoResponse response = new NetzkinoResponse(List.of(), "", "success", 5, 1, 1, 5, posts, "", 0, 0);
+        when(restTemplate.getForEntity(anyString(), eq(NetzkinoResponse.class))).thenReturn(ResponseEntity.ok(response));
+        when(movieRepository.findAllById(anyIterable())).thenReturn(stored);
+
+        // WHEN
+        List<Movie> movies = movieAPIService.fetchAndStoreMovies("liam", List.of());
+
+        // THEN
+        assertEquals(5, movies.size());
+        assertEquals("https://image.tmdb.org/t/p/original/stored-0.jpg", movies.get(0).imgImdb());
+        verify(restTemplate, never()).getForEntity(anyString(), eq(TmdbResponse.class));
+    }
+
+    @Test
+    void fetchMoviesBySearchQuery_ShouldHandEachMovieToTheCallback() {
+        // GIVEN
+        Movie movie = new Movie("1", 101, "slug-inception", "Inception", "2010", "", "", "", "", "", "", List.of("inception"), List.of());
+        when(movieRepository.findByQueriesContaining("inception")).thenReturn(Optional.of(List.of(movie)));
+        List<Movie> streamed = new ArrayList<>();
+
+        // WHEN
+        List<Movie> movies = movieAPIService.fetchMoviesBySearchQuery("inception", streamed::add);
+
+        // THEN
+        assertEquals(movies, streamed);
+    }
+}
@@ -0,0 +1,122 @@
+package org.example.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import org.bson.BsonString;
+import org.example.backend.dtos.MovieImportProgress;
+import org.example.backend.model.Movie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class MovieBulkServiceTest {
+
+    private MongoTemplate mongoTemplate;
+    private BulkOperations bulk;
+    private ObjectMapper objectMapper;
+    private MovieBulkService service;
+
+    private static Movie movie(String id, String slug) {
+        return new Movie(id, 1, slug, "Title " + slug, "2000", "", "", "", "", "", "N/A", List.of("q"), List.of(LocalDate.of(2025, 3, 1)));
+    }
+
+    private static BulkWriteResult upserted(int count) {
+        List<BulkWriteUpsert> upserts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            upserts.add(new BulkWriteUpsert(i, new BsonString("id-" + i)));
+        }
+        return BulkWriteResult.acknowledged(0, 0, 0, 0, upserts, List.of());
+    }
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Movie.class)).thenReturn(bulk);
+        objectMapper = new ObjectMapper();
+        objectMapper.findAndRegisterModules();
+        service = new MovieBulkService(mongoTemplate, objectMapper, 2);
+    }
+
+    @Test
+    void exportMovies_ShouldWriteOneJsonLinePerMovie() throws Exception {
+        // GIVEN
+        when(mongoTemplate.stream(any(Query.class), eq(Movie.class))).thenReturn(Stream.of(movie("heat", "heat"), movie("up", "up")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // WHEN
+        long count = service.exportMovies(out);
+
+        // THEN
+        assertEquals(2, count);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(movie("heat", "heat"), objectMapper.readValue(lines[0], Movie.class));
+        assertEquals(movie("up", "up"), objectMapper.readValue(lines[1], Movie.class));
+    }
+
+    @Test
+    void importMovies_ShouldUpsertInBatches_AndReportProgress() throws Exception {
+        // GIVEN
+        StringBuilder ndjson = new StringBuilder();
+        for (String slug : List.of("heat", "alien", "up")) {
+            ndjson.append(objectMapper.writeValueAsString(movie(slug, slug))).append('\n');
+        }
+        when(bulk.execute()).thenReturn(upserted(2), upserted(1));
+        List<MovieImportProgress> progress = new ArrayList<>();
+
+        // WHEN
+        MovieImportProgress result = service.importMovies(
+                new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)), progress::add);
+
+        // THEN
+        assertEquals(new MovieImportProgress(3, 3, 0, 0, List.of(), true), result);
+        assertEquals(List.of(new MovieImportProgress(2, 2, 0, 0, List.of(), false), result), progress);
+        verify(bulk, times(2)).execute();
+        ArgumentCaptor<Object> replacements = ArgumentCaptor.forClass(Object.class);
+        verify(bulk, times(3)).replaceOne(any(Query.class), replacements.capture(), any(FindAndReplaceOptions.class));
+        assertEquals(movie("heat", "heat"), replacements.getAllValues().get(0));
+    }
+
+    @Test
+    void importMovies_ShouldSkipInvalidLines_AndUseSlugAsMissingId() throws Exception {
+        // GIVEN
+        String ndjson = "{\"slug\":\"heat\",\"title\":\"Heat\"}\n"
+                + "not json\n"
+                + "\n"
+                + "{\"title\":\"No slug\"}\n";
+        when(bulk.execute()).thenReturn(upserted(1));
+
+        // WHEN
+        MovieImportProgress result = service.importMovies(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), progress -> {});
+
+        // THEN
+        assertEquals(4, result.lines());
+        assertEquals(1, result.upserted());
+        assertEquals(2, result.failed());
+        assertTrue(result.errors().get(0).startsWith("line 2:"));
+        assertEquals("line 4: movie has no slug", result.errors().get(1));
+        ArgumentCaptor<Object> replacement = ArgumentCaptor.forClass(Object.class);
+        verify(bulk).replaceOne(any(Query.class), replacement.capture(), any(FindAndReplaceOptions.class));
+        assertEquals("heat", ((Movie) replacement.getValue()).id());
+    }
+}
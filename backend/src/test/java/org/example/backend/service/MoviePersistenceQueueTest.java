@@ -0,0 +1,166 @@
+package org.example.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.model.Movie;
+import org.example.backend.model.Query;
+import org.example.backend.repo.MovieRepo;
+import org.example.backend.repo.QueryRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class MoviePersistenceQueueTest {
+
+    private MovieRepo movieRepo;
+    private QueryRepo queryRepo;
+    private SimpleMeterRegistry meterRegistry;
+    private MoviePersistenceQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        movieRepo = mock(MovieRepo.class);
+        queryRepo = mock(QueryRepo.class);
+        meterRegistry = new SimpleMeterRegistry();
+        queue = new MoviePersistenceQueue(movieRepo, queryRepo, meterRegistry, true, 10, 100, 3, Duration.ZERO);
+    }
+
+    private static Movie movie(String slug, String query, LocalDate date) {
+        return new Movie(slug, 1, slug, "Title", "2000", "", "", "", "", "", "img", List.of(query),
+                date == null ? List.of() : List.of(date));
+    }
+
+    @Test
+    void enqueue_ShouldNotWrite_UntilFlushed_AndServePendingReads() {
+        // WHEN
+        queue.enqueue(List.of(movie("heat", "liam", LocalDate.of(2025, 3, 1))), "liam");
+
+        // THEN
+        verifyNoInteractions(movieRepo);
+        assertEquals(1, queue.pendingForQuery("liam").size());
+        assertEquals(1.0, meterRegistry.get("movies.persistence.queue.depth").gauge().value());
+    }
+
+    @Test
+    void flush_ShouldWriteMergedBatchOnce_AndMarkQueriesAsUsed() {
+        // GIVEN the same movie fetched by two requests
+        queue.enqueue(List.of(movie("heat", "liam", null)), "liam");
+        queue.enqueue(List.of(movie("heat", "noah", null), movie("alien", "noah", null)), "noah");
+
+        // WHEN
+        queue.flush();
+
+        // THEN
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Movie>> saved = ArgumentCaptor.forClass(List.class);
+        verify(movieRepo, times(1)).saveAll(saved.capture());
+        assertEquals(2, saved.getValue().size());
+        assertEquals(List.of("liam", "noah"), saved.getValue().get(0).queries());
+        verify(queryRepo, times(2)).save(any(Query.class));
+        assertEquals(0, queue.pendingCount());
+        assertEquals(2.0, meterRegistry.get("movies.persistence.written").counter().count());
+    }
+
+    @Test
+    void flush_ShouldKeepQueriesOfTheStoredMovie_ReadFromThePrimary() {
+        // GIVEN
+        when(movieRepo.findByIdIn(List.of("heat"))).thenReturn(List.of(movie("heat", "emma", null)));
+        queue.enqueue(List.of(movie("heat", "liam", null)), "liam");
+
+        // WHEN
+        queue.flush();
+
+        // THEN
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Movie>> saved = ArgumentCaptor.forClass(List.class);
+        verify(movieRepo).saveAll(saved.capture());
+        assertEquals(List.of("emma", "liam"), saved.getValue().get(0).queries());
+        verify(movieRepo, never()).findAllById(anyIterable());
+    }
+
+    @Test
+    void enqueue_ShouldFlush_WhenBatchIsFull() {
+        // WHEN
+        for (int i = 0; i < 10; i++) {
+            queue.enqueue(List.of(movie("movie-" + i, "liam", null)), "liam");
+        }
+
+        // THEN
+        verify(movieRepo, times(1)).saveAll(anyList());
+        assertEquals(0, queue.pendingCount());
+    }
+
+    @Test
+    void flush_ShouldRetryTransientErrors() {
+        // GIVEN
+        when(movieRepo.saveAll(anyList()))
+                .thenThrow(new DataAccessResourceFailureException("socket closed"))
+                .thenReturn(List.of());
+        queue.enqueue(List.of(movie("heat", "liam", null)), "liam");
+
+        // WHEN
+        queue.flush();
+
+        // THEN
+        verify(movieRepo, times(2)).saveAll(anyList());
+        assertEquals(0, queue.pendingCount());
+    }
+
+    @Test
+    void flush_ShouldKeepMoviesQueued_WhenAllAttemptsFail() {
+        // GIVEN
+        when(movieRepo.saveAll(anyList())).thenThrow(new DataAccessResourceFailureException("no primary"));
+        queue.enqueue(List.of(movie("heat", "liam", null)), "liam");
+
+        // WHEN
+        queue.flush();
+
+        // THEN
+        verify(movieRepo, times(3)).saveAll(anyList());
+        assertEquals(1, queue.pendingCount());
+        assertEquals(1, queue.pendingForQuery("liam").size());
+    }
+
+    @Test
+    void enqueue_ShouldDropOldestMovies_WhenFull_InsteadOfFlushingOnTheRequest() {
+        // GIVEN Mongo is down and the first full batch already failed
+        when(movieRepo.saveAll(anyList())).thenThrow(new DataAccessResourceFailureException("no primary"));
+        MoviePersistenceQueue small = new MoviePersistenceQueue(movieRepo, queryRepo, meterRegistry, true, 2, 3, 3, Duration.ZERO);
+        small.enqueue(List.of(movie("movie-0", "q0", null)), "q0");
+        small.enqueue(List.of(movie("movie-1", "q1", null)), "q1");
+
+        // WHEN
+        for (int i = 2; i < 5; i++) {
+            small.enqueue(List.of(movie("movie-" + i, "q" + i, null)), "q" + i);
+        }
+
+        // THEN
+        verify(movieRepo, times(3)).saveAll(anyList()); // only the attempts of the first flush
+        assertEquals(3, small.pendingCount());
+        assertTrue(small.pendingForQuery("q0").isEmpty());
+        assertEquals(1, small.pendingForQuery("q4").size());
+        assertEquals(2.0, meterRegistry.get("movies.persistence.failed").counter().count());
+    }
+
+    @Test
+    void enqueue_ShouldWriteImmediately_WhenAsyncIsDisabled() {
+        // GIVEN
+        MoviePersistenceQueue sync = new MoviePersistenceQueue(movieRepo, queryRepo, new SimpleMeterRegistry(), false, 10, 100, 3, Duration.ZERO);
+
+        // WHEN
+        sync.enqueue(List.of(movie("heat", "liam", null)), "liam");
+
+        // THEN
+        verify(movieRepo).saveAll(anyList());
+        verify(queryRepo).save(new Query("liam"));
+        assertEquals(0, sync.pendingCount());
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.backend.service;
+
+import org.example.backend.exceptions.InvalidProjectionException;
+import org.example.backend.model.Movie;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MovieProjectionTest {
+
+    private final Movie movie = new Movie("1", 101, "slug-movie-1", "Inception", "2010", "A thief...",
+            "Christopher Nolan", "Leonardo DiCaprio", "img1", "img2", "img3", List.of("leo"), List.of(LocalDate.of(2024, 1, 1)));
+
+    @Test
+    void resolve_ShouldReturnEmpty_WhenNothingRequested() {
+        assertEquals(Optional.empty(), MovieProjection.resolve(null, null));
+        assertEquals(Optional.empty(), MovieProjection.resolve(" ", ""));
+    }
+
+    @Test
+    void resolve_ShouldKeepDeclarationOrderAndDropDuplicates() {
+        assertEquals(Optional.of(List.of("slug", "title", "year")), MovieProjection.resolve("year, title,slug,title", null));
+    }
+
+    @Test
+    void resolve_ShouldExpandNamedView() {
+        assertEquals(Optional.of(MovieProjection.VIEWS.get("card")), MovieProjection.resolve(null, "card"));
+    }
+
+    @Test
+    void resolve_ShouldRejectUnknownFieldsAndViews() {
+        assertThrows(InvalidProjectionException.class, () -> MovieProjection.resolve("slug,secret", null));
+        assertThrows(InvalidProjectionException.class, () -> MovieProjection.resolve(null, "poster"));
+        assertThrows(InvalidProjectionException.class, () -> MovieProjection.resolve("slug", "list"));
+        assertThrows(InvalidProjectionException.class, () -> MovieProjection.resolve(",", null));
+    }
+
+    @Test
+    void project_ShouldOnlyContainRequestedFields() {
+        // WHEN
+        Map<String, Object> projected = MovieProjection.project(movie, List.of("slug", "stars"));
+
+        // THEN
+        assertEquals(Map.of("slug", "slug-movie-1", "stars", "Leonardo DiCaprio"), projected);
+    }
+}
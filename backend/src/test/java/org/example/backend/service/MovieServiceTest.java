@@ -1,7 +1,9 @@
 
 package org.example.backend.service;
 
+import org.example.backend.dtos.MovieBatch;
 import org.example.backend.exceptions.DatabaseException;
+import org.example.backend.exceptions.InvalidBatchException;
 import org.example.backend.model.Movie;
 import org.example.backend.repo.MovieRepo;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,6 +13,7 @@ import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -27,7 +30,21 @@ class MovieServiceTest {
     void setUp() {
         repo = mock(MovieRepo.class);
         restTemplate = mock(RestTemplate.class);
-        movieService = new MovieService(repo, restTemplate, "dummyTmdbApiKey", "dummyNetzkinoEnv");
+        movieService = new MovieService(repo, restTemplate, "dummyTmdbApiKey", "dummyNetzkinoEnv", 3);
+    }
+
+    @Test
+    void getAllMoviesWithFields_ShouldOnlyReadRequestedFields() {
+        // GIVEN
+        Movie partial = new Movie(null, 0, "slug-movie-1", "Inception", null, null, null, null, null, null, null, null, null);
+        when(repo.findAllWithFields(List.of("slug", "title"))).thenReturn(List.of(partial));
+
+        // WHEN
+        List<Map<String, Object>> actual = movieService.getAllMovies(List.of("slug", "title"));
+
+        // THEN
+        assertEquals(List.of(Map.of("slug", "slug-movie-1", "title", "Inception")), actual);
+        verify(repo, never()).findAll();
     }
 
     @Test
@@ -593,4 +610,26 @@ class MovieServiceTest {
 //    }
 
 
+
+    @Test
+    void getMoviesBySlugs_ShouldKeepRequestedOrder_AndReportMissingSlugs() {
+        // GIVEN
+        when(repo.findBySlugIn(List.of("heat", "alien", "inception"))).thenReturn(List.of(new Movie("inception", 1, "inception", "Title", "2000", "", "", "", "", "", "", List.of(), List.of()), new Movie("heat", 1, "heat", "Title", "2000", "", "", "", "", "", "", List.of(), List.of())));
+
+        // WHEN
+        MovieBatch batch = movieService.getMoviesBySlugs(List.of("heat", "alien", "inception", "heat"));
+
+        // THEN
+        assertEquals(List.of("heat", "inception"), batch.movies().stream().map(Movie::slug).toList());
+        assertEquals(List.of("alien"), batch.missing());
+        verify(repo, times(1)).findBySlugIn(anyCollection());
+        verify(repo, never()).findBySlug(anyString());
+    }
+
+    @Test
+    void getMoviesBySlugs_ShouldRejectBatchesOverTheLimit() {
+        // WHEN & THEN
+        assertThrows(InvalidBatchException.class, () -> movieService.getMoviesBySlugs(List.of("a", "b", "c", "d")));
+        verifyNoInteractions(repo);
+    }
 }
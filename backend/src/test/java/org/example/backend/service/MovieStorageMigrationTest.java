@@ -0,0 +1,74 @@
+package org.example.backend.service;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class MovieStorageMigrationTest {
+
+    private static Document legacy(String slug) {
+        return new Document("_id", slug)
+                .append("slug", slug)
+                .append("title", slug.toUpperCase())
+                .append("imgImdb", "https://image.tmdb.org/t/p/original/" + slug + ".jpg")
+                .append("queries", List.of("q"))
+                .append("_class", "org.example.backend.model.Movie");
+    }
+
+    @Test
+    void migrate_ShouldReplaceLegacyDocumentsWithCompactOnes_InBatches() {
+        // GIVEN
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        BulkOperations bulk = mock(BulkOperations.class);
+        when(mongoTemplate.stream(any(Query.class), eq(Document.class), eq("movies")))
+                .thenReturn(Stream.of(legacy("heat"), legacy("alien"), legacy("up")));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, "movies")).thenReturn(bulk);
+        MovieStorageMigration migration = new MovieStorageMigration(mongoTemplate, true, "compact", 2);
+
+        // WHEN
+        int migrated = migration.migrate();
+
+        // THEN
+        assertEquals(3, migrated);
+        verify(bulk, times(2)).execute();
+        ArgumentCaptor<Object> replacements = ArgumentCaptor.forClass(Object.class);
+        verify(bulk, times(3)).replaceOne(any(Query.class), replacements.capture());
+        Document heat = (Document) replacements.getAllValues().get(0);
+        assertEquals(new Document("_id", "heat").append("t", "HEAT").append("ii", "1:/heat.jpg").append("q", List.of("q")), heat);
+    }
+
+    @Test
+    void onStartup_ShouldDoNothing_WhenDisabled() {
+        // GIVEN
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+
+        // WHEN
+        new MovieStorageMigration(mongoTemplate, false, "compact", 500).onStartup();
+
+        // THEN
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void onStartup_ShouldNotMigrate_WhileWritingLegacyFormat() {
+        // GIVEN
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+
+        // WHEN
+        new MovieStorageMigration(mongoTemplate, true, "legacy", 500).onStartup();
+
+        // THEN
+        verifyNoInteractions(mongoTemplate);
+    }
+}
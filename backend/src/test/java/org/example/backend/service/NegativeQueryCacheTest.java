@@ -0,0 +1,80 @@
+package org.example.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NegativeQueryCacheTest {
+
+    @Test
+    void isNegative_ShouldMatchNormalizedQueries() {
+        // GIVEN
+        NegativeQueryCache cache = new NegativeQueryCache(100, Duration.ofMinutes(5), true, 0.01);
+
+        // WHEN
+        cache.recordEmpty("  Blade   Runner ");
+
+        // THEN
+        assertTrue(cache.isNegative("blade runner"));
+        assertFalse(cache.isNegative("blade"));
+        assertFalse(cache.isNegative(null));
+    }
+
+    @Test
+    void isNegative_ShouldWorkWithoutBloomFilter() {
+        // GIVEN
+        NegativeQueryCache cache = new NegativeQueryCache(100, Duration.ofMinutes(5), false, 0.01);
+
+        // WHEN
+        cache.recordEmpty("xyzzy");
+
+        // THEN
+        assertTrue(cache.isNegative("XYZZY"));
+        assertFalse(cache.isNegative("plugh"));
+    }
+
+    @Test
+    void recordEmpty_ShouldStayBounded_AndKeepRecentQueriesAfterBloomRebuild() {
+        // GIVEN a cache sized for 10 queries
+        NegativeQueryCache cache = new NegativeQueryCache(10, Duration.ofMinutes(5), true, 0.01);
+
+        // WHEN far more queries are recorded than the bloom filter was sized for
+        for (int i = 0; i < 100; i++) {
+            cache.recordEmpty("query" + i);
+        }
+
+        // THEN
+        assertTrue(cache.size() <= 10);
+        assertTrue(cache.isNegative("query99"));
+    }
+
+    @Test
+    void recordEmpty_ShouldNotRebuildTheBloomFilterOnEveryInsert_OnceTheCacheIsFull() {
+        // GIVEN a full cache of 10 queries, its bloom filter sized for 20
+        NegativeQueryCache cache = new NegativeQueryCache(10, Duration.ofMinutes(5), true, 0.01);
+
+        // WHEN
+        for (int i = 0; i < 100; i++) {
+            cache.recordEmpty("query" + i);
+        }
+
+        // THEN each rebuild re-inserts at most 10 live queries and leaves room for 10 new ones
+        assertTrue(cache.bloomRebuilds() > 0);
+        assertTrue(cache.bloomRebuilds() <= 10);
+    }
+
+    @Test
+    void isNegative_ShouldBeFalse_AfterTtl() throws InterruptedException {
+        // GIVEN
+        NegativeQueryCache cache = new NegativeQueryCache(100, Duration.ofMillis(20), true, 0.01);
+        cache.recordEmpty("xyzzy");
+
+        // WHEN
+        Thread.sleep(50);
+
+        // THEN
+        assertFalse(cache.isNegative("xyzzy"));
+    }
+}
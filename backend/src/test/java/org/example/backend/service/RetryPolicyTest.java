@@ -0,0 +1,29 @@
+package org.example.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryPolicyTest {
+
+    @Test
+    void backoff_ShouldStayBelowExponentialCeilingAndMax() {
+        // GIVEN
+        RetryPolicy policy = new RetryPolicy.ExponentialBackoff(8, Duration.ofMillis(100), Duration.ofMillis(1000), Duration.ofSeconds(10));
+
+        // WHEN & THEN
+        for (int i = 0; i < 200; i++) {
+            assertTrue(policy.backoff(1).toMillis() <= 100);
+            assertTrue(policy.backoff(3).toMillis() <= 400);
+            assertTrue(policy.backoff(30).toMillis() <= 1000);
+        }
+    }
+
+    @Test
+    void backoff_ShouldBeZero_WhenBaseIsZero() {
+        RetryPolicy policy = new RetryPolicy.ExponentialBackoff(3, Duration.ZERO, Duration.ZERO, Duration.ofSeconds(1));
+        assertEquals(Duration.ZERO, policy.backoff(5));
+    }
+}
@@ -0,0 +1,147 @@
+package org.example.backend.service;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SeedNameDictionaryTest {
+
+    @TempDir
+    Path dir;
+
+    private MongoTemplate mongoTemplate;
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mongoTemplate = mock(MongoTemplate.class);
+        file = dir.resolve("seed-names.txt");
+        Files.writeString(file, "# comment\nLiam\nNoah;3\n\nLiam\nEmma\n");
+    }
+
+    private SeedNameDictionary dictionary() {
+        return new SeedNameDictionary(mongoTemplate, new DefaultResourceLoader(), file.toUri().toString());
+    }
+
+    @Test
+    void constructor_ShouldSkipCommentsAndDuplicates() {
+        assertEquals(List.of("Liam", "Noah", "Emma"), dictionary().names());
+    }
+
+    @Test
+    void bundledDictionary_ShouldContainEachNameOnce() {
+        // WHEN
+        SeedNameDictionary bundled = new SeedNameDictionary(mongoTemplate, new DefaultResourceLoader(), "classpath:seed-names.txt");
+
+        // THEN
+        assertTrue(bundled.names().size() > 200);
+        assertEquals(1, bundled.names().stream().filter("Parker"::equals).count());
+    }
+
+    @Test
+    void sample_ShouldBeDeterministicForTheSameSeed() {
+        // GIVEN
+        SeedNameDictionary first = dictionary();
+        SeedNameDictionary second = dictionary();
+
+        // WHEN & THEN
+        for (int day = 1; day <= 28; day++) {
+            String seed = "2025-02-" + String.format("%02d", day);
+            assertEquals(first.sample(seed), second.sample(seed));
+        }
+    }
+
+    @Test
+    void recordResult_ShouldDecayNamesThatKeepFailing() {
+        // GIVEN
+        SeedNameDictionary dictionary = dictionary();
+        double before = dictionary.weight("Liam");
+
+        // WHEN
+        for (int i = 0; i < 10; i++) {
+            dictionary.recordResult("Liam", 0);
+            dictionary.recordResult("Emma", 5);
+        }
+
+        // THEN
+        assertTrue(dictionary.weight("Liam") < before / 5);
+        assertTrue(dictionary.weight("Emma") > before);
+        assertTrue(dictionary.weight("Liam") > 0, "failing names must be able to recover");
+        verify(mongoTemplate, times(20)).upsert(any(Query.class), any(Update.class), eq("seed_names"));
+    }
+
+    @Test
+    void loadStats_ShouldApplyYieldLearnedByOtherNodes() {
+        // GIVEN
+        SeedNameDictionary dictionary = dictionary();
+        when(mongoTemplate.findAll(Document.class, "seed_names"))
+                .thenReturn(List.of(new Document("_id", "Noah").append("attempts", 20).append("yield", 0.0)));
+
+        // WHEN
+        dictionary.loadStats();
+
+        // THEN
+        assertEquals(3.0 / 22, dictionary.weight("Noah"), 1e-9); // prior 3 * (0 + 1) / (20 + 2)
+    }
+
+    @Test
+    void reload_ShouldPickUpChangedFile() throws IOException {
+        // GIVEN
+        SeedNameDictionary dictionary = dictionary();
+        Files.writeString(file, "Olivia\nMia\n");
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(60)));
+
+        // WHEN
+        dictionary.reload();
+
+        // THEN
+        assertEquals(List.of("Olivia", "Mia"), dictionary.names());
+        assertTrue(List.of("Olivia", "Mia").contains(dictionary.sample("2025-03-01")));
+    }
+
+    @Test
+    void reload_ShouldSkipMalformedWeights() throws IOException {
+        // GIVEN
+        SeedNameDictionary dictionary = dictionary();
+        Files.writeString(file, "Jack;abc\nOlivia;2\nMax;Infinity\nBen;1e400\nLea;NaN\nMia\n");
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(60)));
+
+        // WHEN
+        dictionary.reload();
+
+        // THEN
+        assertEquals(List.of("Olivia", "Mia"), dictionary.names());
+        verify(mongoTemplate).findAll(Document.class, SeedNameDictionary.COLLECTION);
+    }
+
+    @Test
+    void bestUnused_ShouldPreferHighestYieldAndSkipTriedNames() {
+        // GIVEN
+        SeedNameDictionary dictionary = dictionary();
+        dictionary.recordResult("Emma", 5);
+        dictionary.recordResult("Emma", 5);
+
+        // WHEN & THEN
+        assertEquals(Optional.of("Noah"), dictionary.bestUnused("seed", Set.of()));       // prior 3
+        assertEquals(Optional.of("Emma"), dictionary.bestUnused("seed", Set.of("Noah")));
+        assertEquals(Optional.of("Liam"), dictionary.bestUnused("seed", Set.of("Noah", "Emma")));
+        assertEquals(Optional.empty(), dictionary.bestUnused("seed", Set.of("Noah", "Emma", "Liam")));
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.backend.service;
+
+import org.example.backend.repo.UserRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.data.mongodb.database=testdb",
+        "spring.data.mongodb.port=27017",
+        "spring.data.mongodb.uri=mongodb://localhost:27017/testdb",
+        "TMDB_API_KEY=dummy-api-key",
+        "NETZKINO_ENV=test-environment"
+})
+class UserRegistrationStressTest {
+
+    private static final int USERS = 20;
+    private static final int LOGINS_PER_USER = 50;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @BeforeEach
+    void setUp() {
+        userRepo.deleteAll();
+        userService.ensureIndexes();
+    }
+
+    @Test
+    void registerUser_ShouldNotCreateDuplicates_WhenManyLoginsHappenAtOnce() throws Exception {
+        // WHEN
+        long singleThreaded = registerAll(1);
+        userRepo.deleteAll();
+        long concurrent = registerAll(16);
+
+        // THEN
+        assertEquals(USERS, userRepo.count(), "Every githubId should exist exactly once");
+        for (int user = 0; user < USERS; user++) {
+            assertTrue(userRepo.findByGithubId("stress-" + user).isPresent());
+        }
+        System.out.println("Registered " + USERS * LOGINS_PER_USER + " logins in " + singleThreaded
+                + " ms with 1 thread and " + concurrent + " ms with 16 threads.");
+    }
+
+    private long registerAll(int threads) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int login = 0; login < LOGINS_PER_USER; login++) {
+            for (int user = 0; user < USERS; user++) {
+                String githubId = "stress-" + user;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return userService.registerUser(githubId, "user-" + githubId);
+                }));
+            }
+        }
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            assertNotNull(future.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+    }
+}
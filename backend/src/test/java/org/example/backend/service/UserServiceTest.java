@@ -0,0 +1,65 @@
+package org.example.backend.service;
+
+import org.example.backend.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserServiceTest {
+
+    private MongoTemplate mongoTemplate;
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        userService = new UserService(mongoTemplate);
+    }
+
+    @Test
+    void registerUser_ShouldUpsertWithInsertOnlyFields() {
+        // GIVEN
+        User user = new User("1", "12345", "testUser", List.of());
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(User.class)))
+                .thenReturn(user);
+
+        // WHEN
+        User actual = userService.registerUser("12345", "testUser");
+
+        // THEN
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        ArgumentCaptor<FindAndModifyOptions> options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+        verify(mongoTemplate).findAndModify(query.capture(), update.capture(), options.capture(), eq(User.class));
+        assertEquals("12345", query.getValue().getQueryObject().get("githubId"));
+        assertTrue(update.getValue().getUpdateObject().containsKey("$setOnInsert"));
+        assertFalse(update.getValue().getUpdateObject().containsKey("$set"));
+        assertTrue(options.getValue().isUpsert());
+        assertEquals(user, actual);
+    }
+
+    @Test
+    void registerUser_ShouldReadExistingUser_WhenConcurrentUpsertWon() {
+        // GIVEN
+        User user = new User("1", "12345", "testUser", List.of());
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(User.class)))
+                .thenThrow(new DuplicateKeyException("E11000 duplicate key"));
+        when(mongoTemplate.findOne(any(Query.class), eq(User.class))).thenReturn(user);
+
+        // WHEN
+        User actual = userService.registerUser("12345", "testUser");
+
+        // THEN
+        assertEquals(user, actual);
+    }
+}
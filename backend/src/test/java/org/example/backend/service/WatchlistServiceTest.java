@@ -1,5 +1,9 @@
 package org.example.backend.service;
 
+import org.example.backend.dtos.MovieBatch;
+import org.example.backend.dtos.WatchlistWithMovies;
+import org.example.backend.exceptions.UserNotFoundException;
+import org.example.backend.model.Movie;
 import org.example.backend.model.User;
 import org.example.backend.repo.UserRepo;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,6 +19,8 @@ import static org.mockito.Mockito.*;
 class WatchlistServiceTest {
 
     private UserRepo userRepo;
+    private WatchlistWriteBuffer writeBuffer;
+    private MovieService movieService;
     private WatchlistService watchlistService;
 
     private final String TEST_GITHUB_ID = "12345";
@@ -23,7 +29,9 @@ class WatchlistServiceTest {
     @BeforeEach
     void setUp() {
         userRepo = mock(UserRepo.class);
-        watchlistService = new WatchlistService(userRepo);
+        writeBuffer = mock(WatchlistWriteBuffer.class);
+        movieService = mock(MovieService.class);
+        watchlistService = new WatchlistService(userRepo, writeBuffer, movieService);
     }
 
     @Test
@@ -142,4 +150,63 @@ class WatchlistServiceTest {
         // THEN
         verify(userRepo, never()).save(any(User.class)); // No save should happen
     }
+
+    @Test
+    void addToWatchlist_ShouldOnlyBufferChange_WhenWriteBehindEnabled() {
+        // GIVEN
+        User user = new User("1", TEST_GITHUB_ID, "testUser", new ArrayList<>());
+        when(writeBuffer.isEnabled()).thenReturn(true);
+        when(writeBuffer.applyPending(user)).thenReturn(user);
+        when(userRepo.findByGithubId(TEST_GITHUB_ID)).thenReturn(Optional.of(user));
+
+        // WHEN
+        watchlistService.addToWatchlist(TEST_GITHUB_ID, TEST_MOVIE_SLUG);
+
+        // THEN
+        verify(writeBuffer).record(TEST_GITHUB_ID, TEST_MOVIE_SLUG, true);
+        verify(userRepo, never()).save(any(User.class));
+    }
+
+    @Test
+    void isMovieInWatchlist_ShouldSeeBufferedChanges_WhenWriteBehindEnabled() {
+        // GIVEN
+        User stored = new User("1", TEST_GITHUB_ID, "testUser", List.of());
+        User withPending = new User("1", TEST_GITHUB_ID, "testUser", List.of(TEST_MOVIE_SLUG));
+        when(writeBuffer.isEnabled()).thenReturn(true);
+        when(writeBuffer.applyPending(stored)).thenReturn(withPending);
+        when(userRepo.findByGithubId(TEST_GITHUB_ID)).thenReturn(Optional.of(stored));
+
+        // WHEN
+        boolean result = watchlistService.isMovieInWatchlist(TEST_GITHUB_ID, TEST_MOVIE_SLUG);
+
+        // THEN
+        assertTrue(result);
+    }
+
+    @Test
+    void getWatchlistWithMovies_ShouldEmbedFavoriteMovies() {
+        // GIVEN
+        User user = new User("1", TEST_GITHUB_ID, "testUser", List.of(TEST_MOVIE_SLUG, "gone"));
+        Movie movie = new Movie("test-movie", 1, "test-movie", "Title", "2000", "", "", "", "", "", "", List.of(), List.of());
+        when(userRepo.findByGithubId(TEST_GITHUB_ID)).thenReturn(Optional.of(user));
+        when(movieService.getMoviesBySlugs(user.favorites())).thenReturn(new MovieBatch(List.of(movie), List.of("gone")));
+
+        // WHEN
+        WatchlistWithMovies watchlist = watchlistService.getWatchlistWithMovies(TEST_GITHUB_ID);
+
+        // THEN
+        assertEquals(List.of(movie), watchlist.movies());
+        assertEquals(List.of("gone"), watchlist.missing());
+        assertEquals(user.favorites(), watchlist.favorites());
+    }
+
+    @Test
+    void getWatchlistWithMovies_ShouldThrow_WhenUserNotFound() {
+        // GIVEN
+        when(userRepo.findByGithubId(TEST_GITHUB_ID)).thenReturn(Optional.empty());
+
+        // WHEN & THEN
+        assertThrows(UserNotFoundException.class, () -> watchlistService.getWatchlistWithMovies(TEST_GITHUB_ID));
+        verifyNoInteractions(movieService);
+    }
 }
@@ -0,0 +1,116 @@
+package org.example.backend.service;
+
+import org.example.backend.exceptions.DatabaseException;
+import org.example.backend.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class WatchlistWriteBufferTest {
+
+    private MongoTemplate mongoTemplate;
+    private BulkOperations bulkOperations;
+    private WatchlistWriteBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        bulkOperations = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class)).thenReturn(bulkOperations);
+        buffer = new WatchlistWriteBuffer(mongoTemplate, new ConcurrentMapCacheManager(), true, 100, 100);
+    }
+
+    @Test
+    void record_ShouldCancelOut_WhenAddIsFollowedByRemove() {
+        // WHEN
+        buffer.record("1", "movie-a", true);
+        buffer.record("1", "movie-a", false);
+        buffer.flush();
+
+        // THEN
+        assertEquals(0, buffer.pendingCount());
+        assertEquals(Optional.empty(), buffer.pendingState("1", "movie-a"));
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void applyPending_ShouldOverlayBufferedChanges() {
+        // GIVEN
+        buffer.record("1", "movie-a", true);
+        buffer.record("1", "movie-b", false);
+
+        // WHEN
+        User user = buffer.applyPending(new User("x", "1", "testUser", List.of("movie-b", "movie-c")));
+
+        // THEN
+        assertEquals(List.of("movie-c", "movie-a"), user.favorites());
+    }
+
+    @Test
+    void flush_ShouldWriteOneBulkWithAddsAndRemovesPerUser() {
+        // GIVEN
+        buffer.record("1", "movie-a", true);
+        buffer.record("1", "movie-b", true);
+        buffer.record("1", "movie-c", false);
+        buffer.record("2", "movie-a", true);
+
+        // WHEN
+        buffer.flush();
+
+        // THEN
+        verify(bulkOperations, times(3)).updateOne(any(Query.class), any(Update.class));
+        verify(bulkOperations).execute();
+        assertEquals(0, buffer.pendingCount());
+    }
+
+    @Test
+    void flush_ShouldKeepChanges_WhenBulkWriteFails() {
+        // GIVEN
+        when(bulkOperations.execute()).thenThrow(new RuntimeException("Mongo down"));
+        buffer.record("1", "movie-a", true);
+
+        // WHEN
+        buffer.flush();
+
+        // THEN
+        assertEquals(1, buffer.pendingCount());
+        assertEquals(Optional.of(true), buffer.pendingState("1", "movie-a"));
+    }
+
+    @Test
+    void record_ShouldFlushInline_WhenThresholdIsReached() {
+        // GIVEN
+        buffer = new WatchlistWriteBuffer(mongoTemplate, new ConcurrentMapCacheManager(), true, 2, 10);
+
+        // WHEN
+        buffer.record("1", "movie-a", true);
+        buffer.record("1", "movie-b", true);
+
+        // THEN
+        verify(bulkOperations).execute();
+        assertEquals(0, buffer.pendingCount());
+    }
+
+    @Test
+    void record_ShouldRejectChanges_WhenBufferIsFullAndCannotBeFlushed() {
+        // GIVEN
+        when(bulkOperations.execute()).thenThrow(new RuntimeException("Mongo down"));
+        buffer = new WatchlistWriteBuffer(mongoTemplate, new ConcurrentMapCacheManager(), true, 2, 2);
+        buffer.record("1", "movie-a", true);
+        buffer.record("1", "movie-b", true);
+
+        // WHEN & THEN
+        assertThrows(DatabaseException.class, () -> buffer.record("1", "movie-c", true));
+        assertEquals(2, buffer.pendingCount());
+    }
+}
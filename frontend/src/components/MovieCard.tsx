@@ -1,5 +1,6 @@
 import {IMovie} from "../types/Movie.ts";
 import {Link} from "react-router-dom";
+import {imageUrl} from "../utils/imageUrl.ts";
 
 export interface MovieCardProps {
     movie: IMovie;
@@ -13,7 +14,7 @@ export default function MovieCard(props: Readonly<MovieCardProps>) {
         >
             <div style={{ position: 'relative', width: '120px', height: '180px' }}>
                 <img
-                    src={movie.imgImdb}
+                    src={imageUrl(movie, 200)}
                     alt={`${movie.title} poster`}
                     width="200"
                 />
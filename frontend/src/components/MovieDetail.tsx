@@ -1,6 +1,7 @@
 import { IMovie } from "../types/Movie.ts";
 import axios from "axios";
 import { useState, useEffect } from "react";
+import {imageUrl} from "../utils/imageUrl.ts";
 
 interface MovieDetailProps {
     user: string | undefined; // GitHub ID of the user
@@ -73,7 +74,7 @@ export default function MovieDetail(props: Readonly<MovieDetailProps>) {
             <h2>
                 {movie.title} ({movie.year})
             </h2>
-            <img src={movie.imgImdb} alt={`${movie.title} poster`} style={{ maxWidth: "300px" }} />
+            <img src={imageUrl(movie, 300)} alt={`${movie.title} poster`} style={{ maxWidth: "300px" }} />
             <p>{movie.overview}</p>
 
             {/* ✅ Toggle Watchlist Button */}
@@ -3,6 +3,7 @@ import {IMovie} from "../types/Movie.ts";
 import {useEffect, useState} from "react";
 import useSWR from "swr";
 import {fetcher} from "../utils/fetcher.ts";
+import {imageUrl} from "../utils/imageUrl.ts";
 
 interface MoviesOfTheDayProps {
     user: string | undefined;
@@ -12,7 +13,9 @@ interface MoviesOfTheDayProps {
 export default function MoviesOfTheDay(props: Readonly<MoviesOfTheDayProps>) {
     const { user } = props;
     const [movies, setMovies] = useState<IMovie[]>([]);
-    const { data, error } = useSWR("api/movies/daily", fetcher, {
+    // the backend picks the day by the browser's time zone
+    const timeZone = Intl.DateTimeFormat().resolvedOptions().timeZone;
+    const { data, error } = useSWR(`api/movies/daily?tz=${encodeURIComponent(timeZone)}`, fetcher, {
         shouldRetryOnError: false,
     });
 
@@ -49,7 +52,7 @@ export default function MoviesOfTheDay(props: Readonly<MoviesOfTheDayProps>) {
                         <p>{movie.year}</p>
                         <h2>{movie.regisseur}</h2>
                         <p>{movie.stars}</p>
-                        <img src={movie.imgImdb} alt={movie.title} width="200" />
+                        <img src={imageUrl(movie, 200)} alt={movie.title} width="200" />
                     </div>
                 ))
             )}
@@ -1,6 +1,7 @@
-import { useState, useEffect } from "react";
+import { useState, useEffect, useRef } from "react";
 import MovieDetail from "./MovieDetail.tsx";
 import { IMovie } from "../types/Movie.ts";
+import {imageUrl} from "../utils/imageUrl.ts";
 
 interface SearchQueryProps {
     user: string | undefined;
@@ -11,6 +12,7 @@ export default function SearchQuery({ user }: SearchQueryProps) {
     const [movies, setMovies] = useState<IMovie[]>([]);
     const [error, setError] = useState("");
     const [selectedMovie, setSelectedMovie] = useState<IMovie | null>(null);
+    const eventSourceRef = useRef<EventSource | null>(null);
 
     // ✅ Handles input while allowing only lowercase letters
     const handleInputChange = (event: React.ChangeEvent<HTMLInputElement>) => {
@@ -23,25 +25,34 @@ export default function SearchQuery({ user }: SearchQueryProps) {
         }
     };
 
-    // ✅ Handles search API call
-    const handleSearch = async () => {
+    // ✅ Streams search results: each movie is shown as soon as the backend has enriched it
+    const handleSearch = () => {
         if (!query.trim()) {
             setError("Search query cannot be empty.");
             setMovies([]);
             return;
         }
-        try {
-            const response = await fetch(`/api/movies/search?query=${query}`);
-            if (!response.ok) throw new Error("Failed to fetch movies.");
-            const data = await response.json();
-            setMovies(data);
-            setError("");
-        } catch (err) {
-            setError("Error fetching movies. Please try again.");
-            setMovies([]);
-        }
+        eventSourceRef.current?.close();
+        setMovies([]);
+        setError("");
+
+        const source = new EventSource(`/api/movies/search/stream?query=${query}`);
+        eventSourceRef.current = source;
+        source.addEventListener("movie", (event) => {
+            const movie: IMovie = JSON.parse((event as MessageEvent).data);
+            setMovies((previous) => [...previous, movie]);
+        });
+        source.addEventListener("complete", () => source.close());
+        source.addEventListener("error", (event) => {
+            const data = (event as MessageEvent).data;
+            setError(data ? JSON.parse(data).error : "Error fetching movies. Please try again.");
+            source.close();
+        });
     };
 
+    // ✅ No stream is left open when the page is left
+    useEffect(() => () => eventSourceRef.current?.close(), []);
+
     // ✅ Debounce the search input: trigger the search 700ms after the user stops typing.
     useEffect(() => {
         if (!query.trim()) {
@@ -89,7 +100,7 @@ export default function SearchQuery({ user }: SearchQueryProps) {
                             <p>{movie.year}</p>
                             <h3>{movie.regisseur}</h3>
                             <p>{movie.stars}</p>
-                            <img src={movie.imgImdb} alt={movie.title} width="200" />
+                            <img src={imageUrl(movie, 200)} alt={movie.title} width="200" />
                         </div>
                     ))}
                 </div>
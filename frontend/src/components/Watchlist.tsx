@@ -3,6 +3,7 @@ import { useNavigate } from "react-router-dom";
 import axios from "axios";
 import MovieDetail from "./MovieDetail.tsx";
 import { IMovie } from "../types/Movie.ts";
+import {imageUrl} from "../utils/imageUrl.ts";
 
 interface WatchlistProps {
     user: string | undefined;
@@ -24,23 +25,12 @@ export default function Watchlist({ user }: WatchlistProps) {
                 return;
             }
             try {
-                console.log("Watchlist: Fetching user details for watchlist.");
-                const userRes = await axios.get(`/api/users/active/${user}`);
-                console.log("Watchlist: User details received:", userRes.data);
-                const favorites: string[] = userRes.data.favorites;
-                if (!favorites || favorites.length === 0) {
-                    console.log("Watchlist: No favorites found for user.");
-                    setMovies([]);
-                    setLoading(false);
-                    return;
+                console.log("Watchlist: Fetching watchlist with movies.");
+                const res = await axios.get(`/api/users/watchlist/${user}`);
+                const moviesData: IMovie[] = res.data.movies ?? [];
+                if (res.data.missing?.length) {
+                    console.log("Watchlist: Favorites without stored movie:", res.data.missing);
                 }
-                console.log("Watchlist: Favorites found:", favorites);
-                const moviePromises = favorites.map((slug) => {
-                    console.log("Watchlist: Fetching movie details for slug:", slug);
-                    return axios.get(`/api/movies/${slug}`);
-                });
-                const responses = await Promise.all(moviePromises);
-                const moviesData = responses.map((res) => res.data);
                 console.log("Watchlist: Movies fetched:", moviesData);
                 setMovies(moviesData);
                 setLoading(false);
@@ -98,7 +88,7 @@ export default function Watchlist({ user }: WatchlistProps) {
                             <p>{movie.year}</p>
                             <h3>{movie.regisseur}</h3>
                             <p>{movie.stars}</p>
-                            <img src={movie.imgImdb} alt={movie.title} width="200" />
+                            <img src={imageUrl(movie, 200)} alt={movie.title} width="200" />
                         </div>
                     ))}
                 </div>
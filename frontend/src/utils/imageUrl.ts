@@ -0,0 +1,5 @@
+import {IMovie} from "../types/Movie.ts";
+
+// Served through the backend image cache, resized to the requested width
+export const imageUrl = (movie: IMovie, width: number) =>
+    `/api/images/${encodeURIComponent(movie.slug)}/imdb?w=${width}`;